@@ -0,0 +1,70 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent;
+
+/**
+ * The answers to both parts of a puzzle, for solvers that compute them in a single pass.
+ */
+public final class Answers {
+
+    private final long part1;
+    private final long part2;
+
+    public Answers(final long part1, final long part2) {
+        this.part1 = part1;
+        this.part2 = part2;
+    }
+
+    public long getPart1() {
+        return part1;
+    }
+
+    public long getPart2() {
+        return part2;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if(this == other){
+            return true;
+        }
+        if(!(other instanceof Answers)){
+            return false;
+        }
+        final Answers answers = (Answers) other;
+        return part1 == answers.part1 && part2 == answers.part2;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(part1) * 31 + Long.hashCode(part2);
+    }
+
+    @Override
+    public String toString() {
+        return "Answers{part1=" + part1 + ", part2=" + part2 + '}';
+    }
+
+}
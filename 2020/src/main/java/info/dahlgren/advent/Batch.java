@@ -0,0 +1,280 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+
+/**
+ * Solves many inputs in a single JVM and streams one NDJSON line per job as soon as it is solved.
+ *
+ * <pre>
+ * java -cp 2020.jar info.dahlgren.advent.Batch &lt;directory | manifest&gt;
+ *
+ *   -Dadvent.batch.parallelism=&lt;processors&gt;  number of inputs held and solved at the same time
+ * </pre>
+ *
+ * A directory is scanned for {@code DayN*.txt} files, which are solved for both parts.
+ * A manifest has one {@code day part file} job per line, where the file is relative to the
+ * manifest, and lines starting with {@code #} are ignored. Jobs for the same input are
+ * parsed once. A job that throws, including an {@link Error} such as a stack overflow, is written
+ * as an error line and the process exits with status 1.
+ */
+public final class Batch {
+
+    private static final Pattern INPUT = Pattern.compile("Day(\\d+)(\\D.*)?\\.txt");
+    private static final Pattern JOB = Pattern.compile("(\\d+)[\\s,]+([12])[\\s,]+(.+)");
+
+    public static final class Job {
+
+        private final int day;
+        private final int part;
+        private final Path input;
+
+        public Job(final int day, final int part, final Path input) {
+            this.day = day;
+            this.part = part;
+            this.input = Objects.requireNonNull(input);
+        }
+
+        public int getDay() {
+            return day;
+        }
+
+        public int getPart() {
+            return part;
+        }
+
+        public Path getInput() {
+            return input;
+        }
+
+    }
+
+    private Batch() {
+
+    }
+
+    public static void main(final String[] args){
+        if(args.length != 1){
+            System.err.println("Usage: <directory | manifest>");
+            System.exit(2);
+        }
+
+        final int parallelism = Integer.getInteger("advent.batch.parallelism", Runtime.getRuntime().availableProcessors());
+        final boolean solved = run(getJobs(Path.of(args[0])), parallelism, System.out);
+        System.out.flush();
+        System.exit(solved ? 0 : 1);
+    }
+
+    public static List<Job> getJobs(final Path path){
+        try {
+            if(Files.isDirectory(path)){
+                return getDirectoryJobs(path);
+            }
+            return getManifestJobs(path);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read jobs: " + path, e);
+        }
+    }
+
+    /**
+     * Solves the jobs with at most {@code parallelism} inputs in flight, which bounds the memory
+     * used by parsed inputs. Lines are written in completion order.
+     *
+     * @return whether every job was solved
+     */
+    public static boolean run(final List<Job> jobs, final int parallelism, final PrintStream output){
+        if(parallelism < 1){
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+
+        final Map<Integer, Solver<?>> solvers = Runner.getSolvers().stream()
+                .collect(toMap(Solver::getDay, Function.identity()));
+        final Map<String, List<Job>> inputs = new LinkedHashMap<>();
+        for(Job job : jobs){
+            inputs.computeIfAbsent(job.day + ":" + job.input, key -> new ArrayList<>()).add(job);
+        }
+
+        final AtomicBoolean solved = new AtomicBoolean(true);
+        final Semaphore permits = new Semaphore(parallelism);
+        final ExecutorService executor = TaskExecutors.newPerTaskExecutor();
+        try {
+            for(List<Job> input : inputs.values()){
+                permits.acquire();
+                executor.execute(() -> {
+                    try {
+                        if(!solve(solvers.get(input.get(0).day), input, output)){
+                            solved.set(false);
+                        }
+                    } catch (Throwable e) {
+                        solved.set(false);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+            permits.acquire(parallelism);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while solving", e);
+        } finally {
+            executor.shutdown();
+        }
+
+        return solved.get();
+    }
+
+    private static <T> boolean solve(final Solver<T> solver, final List<Job> jobs, final PrintStream output){
+        final T parsed;
+        final long parseNanos;
+        try {
+            if(solver == null){
+                throw new IllegalArgumentException("No solver for day " + jobs.get(0).day);
+            }
+            final long parseStart = System.nanoTime();
+            parsed = solver.parse(Runner.getInput(jobs.get(0).input));
+            parseNanos = System.nanoTime() - parseStart;
+            Metrics.phase(solver.getDay(), "parse", parseNanos);
+        } catch (Throwable e) {
+            jobs.forEach(job -> write(output, job, null, 0, 0, e));
+            return false;
+        }
+
+        boolean solved = true;
+        for(Job job : jobs){
+            final long start = System.nanoTime();
+            try {
+                final Object result = job.part == 1 ? solver.solvePart1(parsed) : solver.solvePart2(parsed);
+                final long solveNanos = System.nanoTime() - start;
+                Metrics.phase(solver.getDay(), "part" + job.part, solveNanos);
+                write(output, job, result, parseNanos, solveNanos, null);
+            } catch (Throwable e) {
+                write(output, job, null, parseNanos, System.nanoTime() - start, e);
+                solved = false;
+            }
+        }
+        return solved;
+    }
+
+    private static void write(final PrintStream output, final Job job, final Object result,
+                              final long parseNanos, final long solveNanos, final Throwable error){
+        final StringBuilder line = new StringBuilder()
+                .append("{\"day\":").append(job.day)
+                .append(",\"part\":").append(job.part)
+                .append(",\"input\":");
+        appendString(line, job.input.toString());
+        if(error == null){
+            line.append(",\"result\":");
+            appendString(line, String.valueOf(result));
+        } else {
+            line.append(",\"error\":");
+            appendString(line, error.getMessage() == null ? error.getClass().getName() : error.getMessage());
+        }
+        line.append(",\"parseNanos\":").append(parseNanos)
+                .append(",\"solveNanos\":").append(solveNanos)
+                .append('}');
+
+        synchronized (output) {
+            output.println(line);
+        }
+    }
+
+    private static void appendString(final StringBuilder line, final String value){
+        line.append('"');
+        for(int index = 0; index < value.length(); index++){
+            final char character = value.charAt(index);
+            switch (character) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if(character < 0x20){
+                        line.append(String.format("\\u%04x", (int) character));
+                    } else {
+                        line.append(character);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+
+    private static List<Job> getDirectoryJobs(final Path directory) throws IOException {
+        try(Stream<Path> files = Files.list(directory)) {
+            final List<Job> jobs = new ArrayList<>();
+            for(Path file : files.sorted().collect(toList())){
+                final Matcher matcher = INPUT.matcher(file.getFileName().toString());
+                if(matcher.matches() && Files.isRegularFile(file)){
+                    final int day = Integer.parseInt(matcher.group(1));
+                    jobs.add(new Job(day, 1, file));
+                    jobs.add(new Job(day, 2, file));
+                }
+            }
+            return jobs;
+        }
+    }
+
+    private static List<Job> getManifestJobs(final Path manifest) throws IOException {
+        final Path directory = manifest.toAbsolutePath().getParent();
+        final List<Job> jobs = new ArrayList<>();
+        for(String line : Files.readAllLines(manifest, StandardCharsets.UTF_8)){
+            final String job = line.strip();
+            if(job.isEmpty() || job.startsWith("#")){
+                continue;
+            }
+
+            final Matcher matcher = JOB.matcher(job);
+            if(!matcher.matches()){
+                throw new IllegalArgumentException("Invalid job: " + line);
+            }
+            jobs.add(new Job(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)),
+                    directory.resolve(matcher.group(3))));
+        }
+        return jobs;
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Counts occurrences of a byte in a range of a buffer. On JDK 25 with the incubating vector
+ * module added ({@code --add-modules jdk.incubator.vector}), the multi-release JAR provides an
+ * implementation that compares a full vector of bytes at a time. It is only used for ranges
+ * long enough to pay for the setup, and the scalar loop is used everywhere else.
+ */
+public final class ByteCounts {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_COUNTER = "info.dahlgren.advent.VectorByteCounter";
+    private static final int VECTOR_THRESHOLD = 64;
+    private static final Counter VECTOR = loadVectorCounter();
+
+    interface Counter {
+
+        int count(ByteBuffer buffer, int from, int to, byte value);
+
+    }
+
+    private ByteCounts() {
+
+    }
+
+    public static boolean isVectorized() {
+        return VECTOR != null;
+    }
+
+    /**
+     * Counts the bytes equal to the value between the absolute offsets {@code from} (inclusive)
+     * and {@code to} (exclusive).
+     */
+    public static int count(final ByteBuffer buffer, final int from, final int to, final byte value) {
+        if(VECTOR != null && to - from >= VECTOR_THRESHOLD){
+            return VECTOR.count(buffer, from, to, value);
+        }
+        return countScalar(buffer, from, to, value);
+    }
+
+    public static int countScalar(final ByteBuffer buffer, final int from, final int to, final byte value) {
+        int count = 0;
+        for(int index = from; index < to; index++){
+            if(buffer.get(index) == value){
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static Counter loadVectorCounter() {
+        if(ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()){
+            return null;
+        }
+
+        try {
+            return (Counter) Class.forName(VECTOR_COUNTER).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // Not running from the multi-release JAR on JDK 25 or later
+            return null;
+        }
+    }
+
+}
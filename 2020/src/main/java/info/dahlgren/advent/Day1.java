@@ -24,11 +24,9 @@
 
 package info.dahlgren.advent;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
 
 public final class Day1 {
 
@@ -39,86 +37,47 @@ public final class Day1 {
     }
 
     public static Optional<Integer> executePart1(final int[] numbers) {
-        // Store a map of all numbers extracted with 2020 and the respective index for each number.
-        // We want to store the index since we can have two numbers with the same value and we want
-        // to verify that we do not multiple the same index.
-        final Map<Integer, Set<Integer>> indices = new HashMap<>();
-
-        for(int index = 0; index < numbers.length; index++) {
-            // Get current value
-            int value = numbers[index];
-
-            // Check whether the value which we would like to multiple with already exists
-            // in our index map. If so, find it and verify that it does not have the same
-            // index as the current index
-            if(indices.containsKey(value)) {
-                final Integer secondIndex = findMatchedIndex(indices.get(value), index);
-                if(secondIndex != null){
-                    // The second index is not the same as the current index
-                    // Multiple the value at the index and the value at the second index
-                    return Optional.of(numbers[index] * numbers[secondIndex]);
-                }
-            }
-
-            // Calculate the value which we would like to multiple with the current value
-            int extractedValue = GOAL - value;
-            if(!indices.containsKey(extractedValue)){
-                indices.put(extractedValue, new HashSet<>());
-            }
-
-            // Store the current value's index
-            indices.get(extractedValue).add(index);
-        }
-
-        return Optional.empty();
+        return execute(numbers, GOAL, 2).map(Long::intValue);
     }
 
-
     public static Optional<Integer> executePart2(final int[] numbers) {
-        final Map<Integer, Set<Integer>> indices = new HashMap<>();
-
-        for(int index = 0; index < numbers.length; index++) {
-            int value = numbers[index];
-
-            if(!indices.containsKey(value)){
-                indices.put(value, new HashSet<>());
-            }
-
-            indices.get(value).add(index);
-        }
-
-        for(int i = 0; i < numbers.length - 1; i++) {
-            for(int j = i + 1; j < numbers.length; j++) {
-                int value = GOAL - (numbers[i] + numbers[j]);
-
-                if(indices.containsKey(value)) {
-                    final Integer lookupIndex = findMatchedIndex(indices.get(value), i, j);
-                    if(lookupIndex != null){
-                        return Optional.of(numbers[i] * numbers[j] * numbers[lookupIndex]);
-                    }
-                }
-            }
-        }
+        return execute(numbers, GOAL, 3).map(Long::intValue);
+    }
 
-        return Optional.empty();
+    /**
+     * Searches for the three entries in parallel on the pool and stops all workers at the first match.
+     */
+    public static Optional<Integer> executePart2(final int[] numbers, final ForkJoinPool pool) {
+        final AtomicReference<Integer> result = new AtomicReference<>();
+        executePart2(numbers, pool, (first, second, third) -> {
+            result.compareAndSet(null, first * second * third);
+            return false;
+        });
+        return Optional.ofNullable(result.get());
     }
 
+    /**
+     * Streams every distinct triple that adds up to the goal to the visitor, which may be called
+     * concurrently from the workers of the pool.
+     */
+    public static void executePart2(final int[] numbers, final ForkJoinPool pool, final KSum.TripleVisitor visitor) {
+        KSum.forEachThree(numbers, GOAL, pool, visitor);
+    }
 
-    private static Integer findMatchedIndex(final Set<Integer> matchedIndices, final int ignoredIndex) {
-        return matchedIndices
-                .stream()
-                .filter(index -> index != ignoredIndex)
-                .findFirst()
-                .orElse(null);
+    /**
+     * Finds k entries that add up to the goal and multiplies them. As with the
+     * two puzzle parts, the product silently overflows for large entries or k.
+     */
+    public static Optional<Long> execute(final int[] numbers, final long goal, final int k) {
+        return KSum.find(numbers, goal, k).map(Day1::multiply);
     }
 
-    private static Integer findMatchedIndex(final Set<Integer> matchedIndices,
-                                            final int ignoredIndex1, final int ignoredIndex2) {
-        return matchedIndices
-                .stream()
-                .filter(index -> index != ignoredIndex1 && index != ignoredIndex2)
-                .findFirst()
-                .orElse(null);
+    private static long multiply(final int[] entries) {
+        long product = 1;
+        for(int entry : entries) {
+            product *= entry;
+        }
+        return product;
     }
 
 }
@@ -60,7 +60,9 @@ public class Day11 {
     public static int executePart1(final char[][] layout){
         char[][] previous = copy(layout);
         char[][] current = copy(layout);
+        int generations = 0;
         while(true){
+            generations++;
             for(int row = 0; row < layout.length; row++){
                 for(int column = 0; column < layout[row].length; column++){
                     if(previous[row][column] == EMPTY_SEAT &&
@@ -74,6 +76,7 @@ public class Day11 {
             }
 
             if(isEquals(previous, current)){
+                Metrics.iterations(11, "part1.generations", generations);
                 return countOccupied(previous);
             }
 
@@ -84,7 +87,9 @@ public class Day11 {
     public static int executePart2(final char[][] layout) {
         char[][] previous = copy(layout);
         char[][] current = copy(layout);
+        int generations = 0;
         while(true){
+            generations++;
             for(int row = 0; row < layout.length; row++){
                 for(int column = 0; column < layout[row].length; column++){
                     if(previous[row][column] == EMPTY_SEAT &&
@@ -98,6 +103,7 @@ public class Day11 {
             }
 
             if(isEquals(previous, current)){
+                Metrics.iterations(11, "part2.generations", generations);
                 return countOccupied(previous);
             }
 
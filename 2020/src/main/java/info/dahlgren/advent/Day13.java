@@ -53,6 +53,7 @@ public class Day13 {
         while(true) {
             for(Bus bus : buses){
                 if(time % bus.time == 0){
+                    Metrics.iterations(13, "part1.candidates", time - earliest + 1L);
                     return bus.time * (time - earliest);
                 }
             }
@@ -66,10 +67,12 @@ public class Day13 {
                 .collect(Collectors.toList());
         final Bus lessFrequentBus = buses.get(buses.size() - 1);
         final Bus secondLessFrequentBus = buses.get(buses.size() - 2);
+        long candidates = 0;
         long time = 100000000000000L;
         while ((time + lessFrequentBus.index) % (lessFrequentBus.time) != 0 ||
                 (time + secondLessFrequentBus.index) % (secondLessFrequentBus.time) != 0) {
             time++;
+            candidates++;
         }
 
         final long interval = (long) lessFrequentBus.time * secondLessFrequentBus.time;
@@ -78,7 +81,9 @@ public class Day13 {
         buses.remove(lessFrequentBus);
 
         while (true) {
+            candidates++;
             if(isAllMatch(buses, time)){
+                Metrics.iterations(13, "part2.candidates", candidates);
                 return time;
             } else {
                 time += interval;
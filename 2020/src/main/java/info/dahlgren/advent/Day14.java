@@ -59,6 +59,7 @@ public class Day14 {
             }
         }
 
+        Metrics.peakSize(14, "part1.values", values.size());
         return values.values()
                 .stream()
                 .mapToLong(x -> x)
@@ -88,6 +89,7 @@ public class Day14 {
             }
         }
 
+        Metrics.peakSize(14, "part2.values", values.size());
         return values.values()
                 .stream()
                 .mapToLong(x -> x)
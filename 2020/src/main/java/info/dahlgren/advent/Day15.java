@@ -46,6 +46,8 @@ public class Day15 {
         int number = 0;
         while (true) {
             if(turn == limit){
+                Metrics.iterations(15, "turns", turn);
+                Metrics.peakSize(15, "previousTurns", previousTurns.size());
                 return number;
             }
 
@@ -35,6 +35,7 @@ public class Day17 {
 
     private static final char ACTIVE = '#';
     private static final char INACTIVE = '.';
+    private static final int CYCLES = 6;
 
     private Day17() {
 
@@ -48,12 +49,16 @@ public class Day17 {
             }
         }
 
-        for(int cycle = 0; cycle < 6; cycle++) {
+        int peakNodes = nodes.size();
+        for(int cycle = 0; cycle < CYCLES; cycle++) {
             final Map<Coordinate, Character> nextCycle = getNextCycle(nodes, Day17::getNeighborsPart1);
             final Map<Coordinate, Integer> activeNeighborCount = count(nextCycle, Day17::getNeighborsPart1);
             update(nextCycle, activeNeighborCount);
             nodes = nextCycle;
+            peakNodes = Math.max(peakNodes, nodes.size());
         }
+        Metrics.iterations(17, "part1.cycles", CYCLES);
+        Metrics.peakSize(17, "part1.nodes", peakNodes);
 
         return (int) nodes.values().stream()
                 .filter(value -> value == ACTIVE)
@@ -68,12 +73,16 @@ public class Day17 {
             }
         }
 
-        for(int cycle = 0; cycle < 6; cycle++) {
+        int peakNodes = nodes.size();
+        for(int cycle = 0; cycle < CYCLES; cycle++) {
             final Map<Coordinate, Character> nextCycle = getNextCycle(nodes, Day17::getNeighborsPart2);
             final Map<Coordinate, Integer> activeNeighborCount = count(nextCycle, Day17::getNeighborsPart2);
             update(nextCycle, activeNeighborCount);
             nodes = nextCycle;
+            peakNodes = Math.max(peakNodes, nodes.size());
         }
+        Metrics.iterations(17, "part2.cycles", CYCLES);
+        Metrics.peakSize(17, "part2.nodes", peakNodes);
 
         return (int) nodes.values().stream()
                 .filter(value -> value == ACTIVE)
@@ -24,11 +24,22 @@
 
 package info.dahlgren.advent;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
 
 public final class Day2 {
 
+    private static final int MAX_DIGITS = 9;
+    private static final int MIN_CHUNK_SIZE = 64 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+
     private static final class PasswordPolicy {
 
         private final String password;
@@ -46,22 +57,210 @@ public final class Day2 {
 
     }
 
+    /**
+     * Validates the chunks between two indexes, splitting the range in half until a single chunk remains.
+     */
+    private static final class ChunkTask extends RecursiveTask<long[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient ByteBuffer input;
+        private final int[] bounds;
+        private final int from;
+        private final int to;
+
+        private ChunkTask(final ByteBuffer input, final int[] bounds, final int from, final int to) {
+            this.input = input;
+            this.bounds = bounds;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if(to - from == 1){
+                final long[] counts = new long[2];
+                validate(input, bounds[from], bounds[to], counts);
+                return counts;
+            }
+
+            final int middle = (from + to) >>> 1;
+            final ChunkTask right = new ChunkTask(input, bounds, middle, to);
+            right.fork();
+            final long[] counts = new ChunkTask(input, bounds, from, middle).compute();
+            final long[] other = right.join();
+            counts[0] += other[0];
+            counts[1] += other[1];
+            return counts;
+        }
+
+    }
+
     private Day2() {
 
     }
 
     public static long executePar1(final String[] lines) {
-        return Arrays.stream(lines)
-                .map(Day2::validatePart1)
-                .filter(value -> value)
-                .count();
+        return count(Arrays.asList(lines), Day2::validatePart1);
+    }
+
+    public static long executePar1(final InputStream input) {
+        return count(Lines.of(input), Day2::validatePart1);
     }
 
     public static long executePar2(final String[] lines) {
-        return Arrays.stream(lines)
-                .map(Day2::validatePart2)
-                .filter(value -> value)
-                .count();
+        return count(Arrays.asList(lines), Day2::validatePart2);
+    }
+
+    public static long executePar2(final InputStream input) {
+        return count(Lines.of(input), Day2::validatePart2);
+    }
+
+    public static Answers execute(final MappedInput input) {
+        return execute(input.getBuffer());
+    }
+
+    /**
+     * Validates the {@code lo-hi c: password} lines straight from the bytes between the position
+     * and the limit of the buffer, and evaluates the policies of both parts in the same pass.
+     * Nothing is allocated per line.
+     */
+    public static Answers execute(final ByteBuffer input) {
+        final long[] counts = new long[2];
+        validate(input, input.position(), input.limit(), counts);
+        return new Answers(counts[0], counts[1]);
+    }
+
+    public static Answers execute(final Path file, final ForkJoinPool pool) throws IOException {
+        return execute(MappedInput.map(file), pool);
+    }
+
+    public static Answers execute(final MappedInput input, final ForkJoinPool pool) {
+        final int size = input.size();
+        return execute(input.getBuffer(), pool,
+                Math.max(MIN_CHUNK_SIZE, size / (pool.getParallelism() * CHUNKS_PER_THREAD)));
+    }
+
+    /**
+     * Splits the bytes between the position and the limit of the buffer into chunks of roughly
+     * the given size, each ending just after a line feed, and validates the chunks on the pool.
+     * The counts of both parts are reduced from the same read of every chunk.
+     */
+    public static Answers execute(final ByteBuffer input, final ForkJoinPool pool, final int chunkSize) {
+        if(chunkSize < 1){
+            throw new IllegalArgumentException("Invalid chunk size: " + chunkSize);
+        }
+
+        final int[] bounds = getChunkBounds(input, input.position(), input.limit(), chunkSize);
+        if(bounds.length == 1){
+            return new Answers(0, 0);
+        }
+
+        final long[] counts = pool.invoke(new ChunkTask(input, bounds, 0, bounds.length - 1));
+        return new Answers(counts[0], counts[1]);
+    }
+
+    private static int[] getChunkBounds(final ByteBuffer input, final int from, final int to, final int chunkSize) {
+        int[] bounds = new int[Math.max(2, (int) Math.min(Integer.MAX_VALUE - 8, ((long) to - from) / chunkSize + 2))];
+        int count = 0;
+        bounds[count++] = from;
+        int start = from;
+        while (start < to) {
+            int end = (int) Math.min(to, (long) start + chunkSize);
+            while (end < to && input.get(end - 1) != '\n'){
+                end++;
+            }
+            if(count == bounds.length){
+                bounds = Arrays.copyOf(bounds, count * 2);
+            }
+            bounds[count++] = end;
+            start = end;
+        }
+        return Arrays.copyOf(bounds, count);
+    }
+
+    /**
+     * Adds the number of lines between the offsets that are valid for part 1 and part 2 to the counts.
+     */
+    static void validate(final ByteBuffer input, final int from, final int to, final long[] counts) {
+        int index = from;
+        while (index < to) {
+            if(isLineEnd(input.get(index))){
+                index++;
+                continue;
+            }
+
+            final int lowStart = index;
+            index = skipDigits(input, index, to);
+            final int low = parseDigits(input, lowStart, index);
+            index = expect(input, index, to, '-');
+
+            final int highStart = index;
+            index = skipDigits(input, index, to);
+            final int high = parseDigits(input, highStart, index);
+            index = expect(input, index, to, ' ');
+
+            if(index >= to){
+                throw new IllegalArgumentException("Missing policy character at offset " + index);
+            }
+            final byte character = input.get(index++);
+            index = expect(input, index, to, ':');
+            index = expect(input, index, to, ' ');
+
+            final int start = index;
+            while (index < to && !isLineEnd(input.get(index))){
+                index++;
+            }
+            final int count = ByteCounts.count(input, start, index, character);
+
+            if(count >= low && count <= high){
+                counts[0]++;
+            }
+            if(low >= 1 && high >= 1 && low <= index - start && high <= index - start &&
+                    (input.get(start + low - 1) == character) != (input.get(start + high - 1) == character)){
+                counts[1]++;
+            }
+        }
+    }
+
+    private static int skipDigits(final ByteBuffer input, final int from, final int to) {
+        int index = from;
+        while (index < to && input.get(index) >= '0' && input.get(index) <= '9'){
+            index++;
+        }
+        if(index == from || index - from > MAX_DIGITS){
+            throw new IllegalArgumentException("Invalid number at offset " + from);
+        }
+        return index;
+    }
+
+    private static int parseDigits(final ByteBuffer input, final int from, final int to) {
+        int value = 0;
+        for(int index = from; index < to; index++){
+            value = value * 10 + (input.get(index) - '0');
+        }
+        return value;
+    }
+
+    private static int expect(final ByteBuffer input, final int index, final int to, final char expected) {
+        if(index >= to || input.get(index) != expected){
+            throw new IllegalArgumentException("Expected '" + expected + "' at offset " + index);
+        }
+        return index + 1;
+    }
+
+    private static boolean isLineEnd(final byte value) {
+        return value == '\n' || value == '\r';
+    }
+
+    private static long count(final Iterable<String> lines, final Predicate<String> validator) {
+        long count = 0;
+        for(final String line : lines){
+            if(validator.test(line)){
+                count++;
+            }
+        }
+        return count;
     }
 
     private static boolean validatePart1(final String line){
@@ -24,10 +24,119 @@
 
 package info.dahlgren.advent;
 
+import java.util.Arrays;
+import java.util.Objects;
+
 public class Day3 {
 
     private static final char TREE = '#';
 
+    /**
+     * Moving {@code down} rows and {@code right} columns per step, starting in the top left corner.
+     * The arguments are in the same order as the row and column increments of
+     * {@link #execute(String[], int, int)}.
+     */
+    public static final class Slope {
+
+        private final int down;
+        private final int right;
+
+        public Slope(final int down, final int right) {
+            if(down < 1 || right < 0){
+                throw new IllegalArgumentException("Invalid slope: down " + down + ", right " + right);
+            }
+            this.down = down;
+            this.right = right;
+        }
+
+        public int getDown() {
+            return down;
+        }
+
+        public int getRight() {
+            return right;
+        }
+
+    }
+
+    /**
+     * The number of trees encountered on each slope, in the order the slopes were given.
+     */
+    public static final class Trees {
+
+        private final long[] counts;
+
+        private Trees(final long[] counts) {
+            this.counts = counts;
+        }
+
+        public long getCount(final int slope) {
+            return counts[slope];
+        }
+
+        public long[] getCounts() {
+            return counts.clone();
+        }
+
+        public long getProduct() {
+            long product = 1;
+            for(final long count : counts){
+                product *= count;
+            }
+            return product;
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(counts);
+        }
+
+    }
+
+    /**
+     * The position of every slope during a single top to bottom walk. Instead of taking the column
+     * modulo the width on every row, the step of each slope is reduced once up front, so wrapping
+     * around is at most one subtraction.
+     */
+    private static final class Traversal {
+
+        private final int width;
+        private final int[] steps;
+        private final int[] downs;
+        private final int[] columns;
+        private final int[] nextRows;
+        private final long[] counts;
+
+        private Traversal(final int width, final Slope[] slopes) {
+            this.width = width;
+            this.steps = new int[slopes.length];
+            this.downs = new int[slopes.length];
+            this.columns = new int[slopes.length];
+            this.nextRows = new int[slopes.length];
+            this.counts = new long[slopes.length];
+            for(int slope = 0; slope < slopes.length; slope++){
+                steps[slope] = slopes[slope].right % width;
+                downs[slope] = slopes[slope].down;
+            }
+        }
+
+        private void visit(final int row, final long[] trees, final int offset) {
+            for(int slope = 0; slope < steps.length; slope++){
+                if(nextRows[slope] != row){
+                    continue;
+                }
+
+                final int column = columns[slope];
+                counts[slope] += (trees[offset + (column >>> 6)] >>> column) & 1L;
+
+                final int next = column + steps[slope];
+                columns[slope] = next >= width ? next - width : next;
+                nextRows[slope] = row + downs[slope];
+            }
+        }
+
+    }
+
     private Day3() {
 
     }
@@ -46,4 +155,27 @@ public class Day3 {
         return treeCount;
     }
 
+    public static Trees execute(final String[] terrain, final Slope... slopes) {
+        return execute(TerrainMap.of(terrain), slopes);
+    }
+
+    /**
+     * Counts the trees on every slope while walking the terrain once, probing the packed bits
+     * of each row for all slopes which land on it.
+     */
+    public static Trees execute(final TerrainMap terrain, final Slope... slopes) {
+        Objects.requireNonNull(slopes);
+        if(terrain.getHeight() == 0){
+            return new Trees(new long[slopes.length]);
+        }
+
+        final Traversal traversal = new Traversal(terrain.getWidth(), slopes);
+        final long[] trees = terrain.getWords();
+        for(int row = 0; row < terrain.getHeight(); row++){
+            traversal.visit(row, trees, terrain.getOffset(row));
+        }
+
+        return new Trees(traversal.counts);
+    }
+
 }
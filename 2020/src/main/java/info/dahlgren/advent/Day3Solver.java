@@ -0,0 +1,54 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent;
+
+public final class Day3Solver implements Solver<TerrainMap> {
+
+    @Override
+    public int getDay() {
+        return 3;
+    }
+
+    @Override
+    public TerrainMap parse(final MappedInput input) {
+        return TerrainMap.load(input);
+    }
+
+    @Override
+    public Object solvePart1(final TerrainMap input) {
+        return Math.toIntExact(Day3.execute(input, new Day3.Slope(1, 3)).getCount(0));
+    }
+
+    @Override
+    public Object solvePart2(final TerrainMap input) {
+        return Day3.execute(input,
+                new Day3.Slope(1, 1),
+                new Day3.Slope(1, 3),
+                new Day3.Slope(1, 5),
+                new Day3.Slope(1, 7),
+                new Day3.Slope(2, 1)).getProduct();
+    }
+
+}
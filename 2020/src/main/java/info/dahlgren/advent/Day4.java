@@ -24,6 +24,10 @@
 
 package info.dahlgren.advent;
 
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -45,11 +49,259 @@ public class Day4 {
             'a', 'b', 'c', 'd', 'e', 'f',
             '0', '1', '2', '3', '4', '5', '6', '7', '8', '9');
 
+    /**
+     * All fields but the country id have to be present and valid. The order of the fields is the
+     * order of the indexes reported by {@link #scan(ByteBuffer, PassportVisitor)}.
+     */
+    public static final PassportSchema VALID_FIELDS = PassportSchema.of(
+            PassportSchema.Field.range(BIRTH_YEAR, 1920, 2002),
+            PassportSchema.Field.range(ISSUE_YEAR, 2010, 2020),
+            PassportSchema.Field.range(EXPIRATION_YEAR, 2020, 2030),
+            PassportSchema.Field.measure(HEIGHT,
+                    new PassportSchema.Unit("cm", 150, 193),
+                    new PassportSchema.Unit("in", 59, 76)),
+            PassportSchema.Field.pattern(HAIR_COLOR, "#[0-9a-f]{6}"),
+            PassportSchema.Field.oneOf(EYE_COLOR, "amb", "blu", "brn", "gry", "grn", "hzl", "oth"),
+            PassportSchema.Field.pattern(PASSPORT_ID, "[0-9]{9}"),
+            PassportSchema.Field.optional(COUNTRY_ID));
+
+    /**
+     * All fields but the country id have to be present.
+     */
+    public static final PassportSchema REQUIRED_FIELDS = getPresence(VALID_FIELDS);
+
+    /**
+     * The known fields, in the order of {@link #VALID_FIELDS}.
+     */
+    static final String[] FIELDS = getNames(VALID_FIELDS);
+
+    // Packed three letter keys of FIELDS
+    private static final int[] KEYS = getKeys(FIELDS);
+    private static final int REQUIRED_MASK = (int) VALID_FIELDS.getRequiredMask();
+
+    /**
+     * Receives the fields of the passports in the order they are scanned.
+     */
+    interface PassportVisitor {
+
+        /**
+         * Visits a field whose key is between {@code key} and {@code from - 1} and whose value is between
+         * {@code from} and {@code to}. The field is the index in {@link #FIELDS}, or -1 for unknown keys.
+         */
+        void visitField(int field, ByteBuffer input, int key, int from, int to);
+
+        void visitEnd();
+
+    }
+
+    private static final class PassportCounter implements PassportVisitor {
+
+        private int present;
+        private int valid;
+        private long part1;
+        private long part2;
+
+        @Override
+        public void visitField(final int field, final ByteBuffer input, final int key, final int from, final int to) {
+            if(field < 0){
+                return;
+            }
+            final int bit = 1 << field;
+            present |= bit;
+            valid = VALID_FIELDS.isValid(field, input, from, to) ? valid | bit : valid & ~bit;
+        }
+
+        @Override
+        public void visitEnd() {
+            part1 += (present & REQUIRED_MASK) == REQUIRED_MASK ? 1 : 0;
+            part2 += (present & valid & REQUIRED_MASK) == REQUIRED_MASK ? 1 : 0;
+            present = 0;
+            valid = 0;
+        }
+
+    }
+
+    private static final class SchemaCounter implements PassportVisitor {
+
+        private final PassportSchema schema;
+        // Schema index of every known field, so that only unknown keys are looked up by name
+        private final int[] indexes = new int[FIELDS.length];
+        private long present;
+        private long valid;
+        private int count;
+
+        private SchemaCounter(final PassportSchema schema) {
+            this.schema = schema;
+            for(int field = 0; field < FIELDS.length; field++){
+                final ByteBuffer name = ByteBuffer.wrap(FIELDS[field].getBytes(StandardCharsets.US_ASCII));
+                indexes[field] = schema.indexOf(name, 0, name.limit());
+            }
+        }
+
+        @Override
+        public void visitField(final int field, final ByteBuffer input, final int key, final int from, final int to) {
+            final int index = field >= 0 ? indexes[field] : schema.indexOf(input, key, from - 1);
+            if(index >= 0){
+                final long bit = 1L << index;
+                present |= bit;
+                valid = schema.isValid(index, input, from, to) ? valid | bit : valid & ~bit;
+            }
+        }
+
+        @Override
+        public void visitEnd() {
+            final long required = schema.getRequiredMask();
+            count += (present & valid & required) == required ? 1 : 0;
+            present = 0;
+            valid = 0;
+        }
+
+    }
+
     private Day4() {
 
     }
 
     public static int executePart1(final String[] input){
+        return executePart1(Arrays.asList(input));
+    }
+
+    public static int executePart1(final InputStream input){
+        return executePart1(Lines.of(input));
+    }
+
+    public static int executePart2(final String[] input){
+        return executePart2(Arrays.asList(input));
+    }
+
+    public static int executePart2(final InputStream input){
+        return executePart2(Lines.of(input));
+    }
+
+    public static Answers execute(final MappedInput input){
+        return execute(input.getBuffer());
+    }
+
+    /**
+     * Scans the passports between the position and the limit of the buffer once and counts both
+     * the passports with all required fields and the passports with all required fields valid.
+     * Field presence and validity are tracked in two 8-bit masks, and values are validated in place.
+     */
+    public static Answers execute(final ByteBuffer input){
+        final PassportCounter counter = new PassportCounter();
+        scan(input, counter);
+        return new Answers(counter.part1, counter.part2);
+    }
+
+    /**
+     * Tokenizes the passports between the position and the limit of the buffer without allocating.
+     * Known fields are reported by their index in {@link #FIELDS} and unknown fields by -1, and
+     * the end of every passport with at least one field is reported once. Lines holding nothing
+     * but whitespace separate passports.
+     */
+    static void scan(final ByteBuffer input, final PassportVisitor visitor){
+        final int limit = input.limit();
+        boolean open = false;
+        boolean blank = true;
+        int index = input.position();
+        while (index < limit) {
+            final byte value = input.get(index);
+            if(value == '\n'){
+                if(blank && open){
+                    visitor.visitEnd();
+                    open = false;
+                }
+                blank = true;
+                index++;
+                continue;
+            } else if(PassportSchema.isSeparator(value)){
+                index++;
+                continue;
+            }
+
+            blank = false;
+            open = true;
+            final int keyStart = index;
+            while (index < limit && input.get(index) != ':' && !PassportSchema.isSeparator(input.get(index))) {
+                index++;
+            }
+            if(index == limit || input.get(index) != ':'){
+                throw new IllegalArgumentException("Invalid field at offset " + keyStart);
+            }
+            final int keyEnd = index++;
+            final int valueStart = index;
+            while (index < limit && !PassportSchema.isSeparator(input.get(index))) {
+                index++;
+            }
+
+            final int field = getField(input, keyStart, keyEnd);
+            visitor.visitField(field, input, keyStart, valueStart, index);
+        }
+
+        if(open){
+            visitor.visitEnd();
+        }
+    }
+
+    private static int getField(final ByteBuffer input, final int from, final int to){
+        if(to - from != 3){
+            return -1;
+        }
+
+        final int key = (input.get(from) << 16) | (input.get(from + 1) << 8) | input.get(from + 2);
+        for(int field = 0; field < KEYS.length; field++){
+            if(KEYS[field] == key){
+                return field;
+            }
+        }
+        return -1;
+    }
+
+    private static PassportSchema getPresence(final PassportSchema schema){
+        final PassportSchema.Field[] fields = new PassportSchema.Field[schema.getFieldCount()];
+        for(int index = 0; index < fields.length; index++){
+            final PassportSchema.Field field = schema.getField(index);
+            fields[index] = field.isRequired() ?
+                    PassportSchema.Field.present(field.getName()) : PassportSchema.Field.optional(field.getName());
+        }
+        return PassportSchema.of(fields);
+    }
+
+    private static String[] getNames(final PassportSchema schema){
+        final String[] names = new String[schema.getFieldCount()];
+        for(int index = 0; index < names.length; index++){
+            names[index] = schema.getField(index).getName();
+        }
+        return names;
+    }
+
+    private static int[] getKeys(final String[] names){
+        final int[] keys = new int[names.length];
+        for(int index = 0; index < names.length; index++){
+            final byte[] name = names[index].getBytes(StandardCharsets.US_ASCII);
+            if(name.length != 3){
+                throw new IllegalStateException("Field names have to be three letters: " + names[index]);
+            }
+            keys[index] = (name[0] << 16) | (name[1] << 8) | name[2];
+        }
+        return keys;
+    }
+
+    public static int execute(final MappedInput input, final PassportSchema schema){
+        return execute(input.getBuffer(), schema);
+    }
+
+    /**
+     * Counts the passports between the position and the limit of the buffer which are valid
+     * according to the schema, using the same tokenizer as {@link #execute(ByteBuffer)}.
+     */
+    public static int execute(final ByteBuffer input, final PassportSchema schema){
+        final SchemaCounter counter = new SchemaCounter(schema);
+        scan(input, counter);
+        return counter.count;
+    }
+
+    private static int executePart1(final Iterable<String> input){
 
         int validPasswords = 0;
         final Set<String> passport = new HashSet<>();
@@ -84,7 +336,7 @@ public class Day4 {
         return validPasswords;
     }
 
-    public static int executePart2(final String[] input){
+    private static int executePart2(final Iterable<String> input){
 
         int validPasswords = 0;
         final Map<String, String> passport = new HashMap<>();
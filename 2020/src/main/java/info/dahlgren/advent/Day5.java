@@ -24,8 +24,9 @@
 
 package info.dahlgren.advent;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 public class Day5 {
 
@@ -39,11 +40,39 @@ public class Day5 {
     }
 
     public static int executePart1(final String[] boardingPasses){
+        return executePart1(Arrays.asList(boardingPasses));
+    }
+
+    public static int executePart1(final InputStream boardingPasses){
+        return executePart1(Lines.of(boardingPasses));
+    }
+
+    public static int executePart2(final String[] boardingPasses){
+        return executePart2(Arrays.asList(boardingPasses));
+    }
+
+    public static int executePart2(final InputStream boardingPasses){
+        return executePart2(Lines.of(boardingPasses));
+    }
+
+    public static Answers execute(final MappedInput boardingPasses){
+        return execute(boardingPasses.getBuffer());
+    }
+
+    /**
+     * Decodes the boarding passes between the position and the limit of the buffer once, and
+     * returns the highest seat id together with the free seat between the occupied ones.
+     */
+    public static Answers execute(final ByteBuffer boardingPasses){
+        final SeatMap seats = SeatMap.of(SeatDecoder.DEFAULT);
+        SeatDecoder.DEFAULT.decodeAll(boardingPasses, seats::occupy);
+        return new Answers(seats.getHighest(), findSeat(seats));
+    }
+
+    private static int executePart1(final Iterable<String> boardingPasses){
         int highestId = Integer.MIN_VALUE;
         for(final String boardingPass : boardingPasses){
-            final int row = getSeat(boardingPass, 0, 0, 127);
-            final int column = getSeat(boardingPass, 7, 0, 7);
-            final int id = (row * 8) + column;
+            final int id = SeatDecoder.DEFAULT.decode(boardingPass);
             if(id > highestId){
                 highestId = id;
             }
@@ -52,29 +81,23 @@ public class Day5 {
         return highestId;
     }
 
-    public static int executePart2(final String[] boardingPasses){
-        final List<Integer> ids = new ArrayList<>();
-
-        int highestId = Integer.MIN_VALUE;
-        int lowestId = Integer.MAX_VALUE;
+    private static int executePart2(final Iterable<String> boardingPasses){
+        // Seat ids are bounded by the size of the plane, so a bit per seat keeps the memory constant
+        final SeatMap seats = SeatMap.of(SeatDecoder.DEFAULT);
         for(final String boardingPass : boardingPasses){
-            final int row = getSeat(boardingPass, 0, 0, 127);
-            final int column = getSeat(boardingPass, 7, 0, 7);
-            final int id = (row * 8) + column;
-            ids.add(id);
-
-            if(id > highestId){
-                highestId = id;
-            }
-            if(id < lowestId){
-                lowestId = id;
-            }
+            seats.occupy(SeatDecoder.DEFAULT.decode(boardingPass));
         }
 
-        for(int id = lowestId; id < highestId; id++) {
-            if(!ids.contains(id)) {
-                return id;
-            }
+        return findSeat(seats);
+    }
+
+    /**
+     * Returns the first free seat whose neighbours are both occupied.
+     */
+    private static int findSeat(final SeatMap seats){
+        final int[] gaps = seats.getGaps();
+        if(gaps.length > 0) {
+            return gaps[0];
         }
 
         throw new IllegalArgumentException("Unable to find the seat");
@@ -24,61 +24,135 @@
 
 package info.dahlgren.advent;
 
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.stream.IntStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 public class Day6 {
 
     private static final String EMPTY_LINE = "";
+    private static final int ALL_QUESTIONS = (1 << 26) - 1;
 
     private Day6() {
 
     }
 
     public static int executePart1(final String[] forms){
+        return executePart1(Arrays.asList(forms));
+    }
+
+    public static int executePart1(final InputStream forms){
+        return executePart1(Lines.of(forms));
+    }
+
+    public static int executePart2(final String[] forms){
+        return executePart2(Arrays.asList(forms));
+    }
+
+    public static int executePart2(final InputStream forms){
+        return executePart2(Lines.of(forms));
+    }
+
+    public static Answers execute(final MappedInput forms){
+        return execute(forms.getBuffer());
+    }
+
+    /**
+     * Reads the forms between the position and the limit of the buffer once, and counts both the
+     * questions anyone in a group answered and the questions everyone in a group answered.
+     */
+    public static Answers execute(final ByteBuffer forms){
+        final int limit = forms.limit();
+        long anyoneCount = 0;
+        long everyoneCount = 0;
+        int anyone = 0;
+        int everyone = ALL_QUESTIONS;
+        int participants = 0;
+        int person = 0;
+        int answers = 0;
+        for(int index = forms.position(); index < limit; index++){
+            final byte value = forms.get(index);
+            if(value == '\n'){
+                if(answers > 0){
+                    anyone |= person;
+                    everyone &= person;
+                    participants++;
+                } else if(participants > 0){
+                    anyoneCount += Integer.bitCount(anyone);
+                    everyoneCount += Integer.bitCount(everyone);
+                    anyone = 0;
+                    everyone = ALL_QUESTIONS;
+                    participants = 0;
+                }
+                person = 0;
+                answers = 0;
+            } else if(value != '\r'){
+                person |= getQuestion(value);
+                answers++;
+            }
+        }
+
+        if(answers > 0){
+            anyone |= person;
+            everyone &= person;
+            participants++;
+        }
+        if(participants > 0){
+            anyoneCount += Integer.bitCount(anyone);
+            everyoneCount += Integer.bitCount(everyone);
+        }
+        return new Answers(anyoneCount, everyoneCount);
+    }
+
+    private static int executePart1(final Iterable<String> forms){
         int answerCount = 0;
-        final HashSet<Character> answers = new HashSet<>();
+        int answers = 0;
         for(final String form : forms){
             if(form.equals(EMPTY_LINE)){
-                answerCount += answers.size();
-                answers.clear();
+                answerCount += Integer.bitCount(answers);
+                answers = 0;
                 continue;
             }
 
-            IntStream.range(0, form.length())
-                    .mapToObj(form::charAt)
-                    .forEach(answers::add);
+            answers |= getAnswers(form);
         }
-        return answerCount + answers.size();
+        return answerCount + Integer.bitCount(answers);
     }
 
-    public static int executePart2(final String[] forms){
+    private static int executePart2(final Iterable<String> forms){
         int participants = 0;
         int answerCount = 0;
-        final Map<Character, Integer> answers = new HashMap<>();
+        int answers = ALL_QUESTIONS;
         for(final String form : forms){
             if(form.equals(EMPTY_LINE)){
-                answerCount += calculateAnswers(answers, participants);
+                answerCount += participants > 0 ? Integer.bitCount(answers) : 0;
                 participants = 0;
-                answers.clear();
+                answers = ALL_QUESTIONS;
                 continue;
             }
 
             participants++;
-            IntStream.range(0, form.length())
-                    .mapToObj(form::charAt)
-                    .forEach(character -> answers.put(character, answers.getOrDefault(character, 0) + 1));
+            answers &= getAnswers(form);
+        }
+        return answerCount + (participants > 0 ? Integer.bitCount(answers) : 0);
+    }
+
+    /**
+     * Returns the answers of one person as a mask with bit {@code question - 'a'} set for every question.
+     */
+    private static int getAnswers(final String form){
+        int answers = 0;
+        for(int index = 0; index < form.length(); index++){
+            answers |= getQuestion(form.charAt(index));
         }
-        return answerCount + calculateAnswers(answers, participants);
+        return answers;
     }
 
-    private static int calculateAnswers(final Map<Character, Integer> answers, final int participants){
-        return (int) answers.values()
-                .stream()
-                .filter(value -> value == participants)
-                .count();
+    private static int getQuestion(final int question){
+        if(question < 'a' || question > 'z'){
+            throw new IllegalArgumentException("Invalid question: " + (char) question);
+        }
+        return 1 << (question - 'a');
     }
 
 }
@@ -62,12 +62,11 @@ public class Day9 {
             for(int y = x+1; y < numbers.length; y++){
                 current +=  numbers[y];
 
-                if(current == sum){
+                if(current > sum){
                     break;
-                } else if(current < sum){
-                    result.add(numbers[y]);
-                } else {
-                    result.clear();
+                }
+                result.add(numbers[y]);
+                if(current == sum){
                     break;
                 }
             }
@@ -75,6 +74,7 @@ public class Day9 {
             if(current == sum){
                 break;
             }
+            result.clear();
         }
 
         final long min = result.stream()
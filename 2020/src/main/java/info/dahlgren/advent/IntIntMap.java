@@ -0,0 +1,155 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing hash map from int to int with linear probing. Keys and values are stored
+ * in primitive arrays, so neither lookups nor insertions allocate once the table is sized.
+ */
+public final class IntIntMap {
+
+    private static final int MIN_CAPACITY = 16;
+    // The table is kept at most half full, so this holds up to 2^29 entries
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private int[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int mask;
+    private int size;
+
+    public IntIntMap(final int expectedSize) {
+        if(expectedSize > MAX_CAPACITY / 2){
+            throw new IllegalArgumentException("Expected size is too large: " + expectedSize);
+        }
+        final int capacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, expectedSize) * 2 - 1) << 1);
+        allocate(capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean containsKey(final int key){
+        return used[find(key)];
+    }
+
+    public int getOrDefault(final int key, final int defaultValue){
+        final int slot = find(key);
+        return used[slot] ? values[slot] : defaultValue;
+    }
+
+    /**
+     * @return the previous value, or the given value if the key was absent
+     */
+    public int putIfAbsent(final int key, final int value){
+        final int slot = find(key);
+        if(used[slot]){
+            return values[slot];
+        }
+        insert(slot, key, value);
+        return value;
+    }
+
+    public void put(final int key, final int value){
+        final int slot = find(key);
+        if(used[slot]){
+            values[slot] = value;
+        } else {
+            insert(slot, key, value);
+        }
+    }
+
+    /**
+     * Adds one to the value of the key, starting from zero, and returns the new value.
+     */
+    public int increment(final int key){
+        final int slot = find(key);
+        if(used[slot]){
+            return ++values[slot];
+        }
+        insert(slot, key, 1);
+        return 1;
+    }
+
+    public void clear(){
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    private int find(final int key){
+        int slot = hash(key) & mask;
+        while (used[slot] && keys[slot] != key){
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void insert(final int slot, final int key, final int value){
+        keys[slot] = key;
+        values[slot] = value;
+        used[slot] = true;
+        if(++size * 2 > keys.length){
+            if(keys.length == MAX_CAPACITY){
+                size--;
+                used[slot] = false;
+                throw new IllegalStateException("Map is full: " + size + " entries");
+            }
+            resize();
+        }
+    }
+
+    private void resize(){
+        final int[] oldKeys = keys;
+        final int[] oldValues = values;
+        final boolean[] oldUsed = used;
+        allocate(oldKeys.length * 2);
+        for(int slot = 0; slot < oldKeys.length; slot++){
+            if(oldUsed[slot]){
+                final int index = find(oldKeys[slot]);
+                keys[index] = oldKeys[slot];
+                values[index] = oldValues[slot];
+                used[index] = true;
+                size++;
+            }
+        }
+    }
+
+    private void allocate(final int capacity){
+        keys = new int[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+        size = 0;
+    }
+
+    private static int hash(final int key){
+        final int hash = key * 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+}
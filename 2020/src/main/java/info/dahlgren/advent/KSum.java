@@ -0,0 +1,353 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Finds k entries at distinct positions that add up to a target. The entries are sorted into a
+ * primitive array first, and since a value can be used at most k times, any further copies are
+ * dropped, which keeps large reports with a bounded range of values small.
+ * <ul>
+ *     <li>k = 1 is a binary search</li>
+ *     <li>k = 2 is a two-pointer scan</li>
+ *     <li>k = 4 meets in the middle: pair sums are kept in an {@link IntIntMap}</li>
+ *     <li>any other k fixes the smallest entry and searches the rest for k - 1 entries</li>
+ * </ul>
+ * When k is at most three and every entry lies between zero and the target, as with the expense
+ * reports, the entries are counted in a {@code short[]} indexed by value instead. Lookups are then
+ * a single array load, and the memory is bounded by the target rather than by the number of entries.
+ */
+public final class KSum {
+
+    private static final int MAX_COUNTED_TARGET = 1 << 20;
+
+    /**
+     * Receives matching triples in ascending order. Returning false stops the search.
+     */
+    @FunctionalInterface
+    public interface TripleVisitor {
+
+        boolean visit(int first, int second, int third);
+
+    }
+
+    private static final class ThreeSumTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[] sorted;
+        private final long target;
+        private final int from;
+        private final int to;
+        private final int threshold;
+        private final transient TripleVisitor visitor;
+        private final AtomicBoolean stopped;
+
+        private ThreeSumTask(final int[] sorted, final long target, final int from, final int to,
+                             final int threshold, final TripleVisitor visitor, final AtomicBoolean stopped) {
+            this.sorted = sorted;
+            this.target = target;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+            this.visitor = visitor;
+            this.stopped = stopped;
+        }
+
+        @Override
+        protected void compute() {
+            if(stopped.get()){
+                return;
+            }
+
+            if(to - from > threshold){
+                final int middle = (from + to) >>> 1;
+                invokeAll(new ThreeSumTask(sorted, target, from, middle, threshold, visitor, stopped),
+                        new ThreeSumTask(sorted, target, middle, to, threshold, visitor, stopped));
+                return;
+            }
+
+            for(int index = from; index < to && !stopped.get(); index++){
+                if(index > 0 && sorted[index] == sorted[index - 1]){
+                    continue;
+                }
+                if(!visitPairs(sorted, index, target, visitor, stopped)){
+                    stopped.set(true);
+                }
+            }
+        }
+
+    }
+
+    private KSum() {
+
+    }
+
+    /**
+     * @return the matching entries in ascending order, or empty if no k entries add up to the target
+     */
+    public static Optional<int[]> find(final int[] numbers, final long target, final int k){
+        if(k < 1){
+            throw new IllegalArgumentException("k must be positive: " + k);
+        }
+
+        final int[] chosen = new int[k];
+        if(k <= 3 && isBounded(numbers, target)){
+            return searchCounted(count(numbers, (int) target, k), 0, (int) target, k, chosen, 0)
+                    ? Optional.of(chosen) : Optional.empty();
+        }
+
+        final int[] sorted = compact(numbers, k);
+        if(search(sorted, 0, target, k, chosen, 0)){
+            return Optional.of(chosen);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Visits every distinct combination of three values that adds up to the target, splitting the
+     * smallest value of the triples across the pool. The visitor is called from several threads at
+     * once, and once it returns false the remaining workers stop before their next entry.
+     */
+    public static void forEachThree(final int[] numbers, final long target, final ForkJoinPool pool,
+                                    final TripleVisitor visitor){
+        final int[] sorted = compact(numbers, 3);
+        if(sorted.length < 3){
+            return;
+        }
+
+        final int outer = sorted.length - 2;
+        final int threshold = Math.max(1, outer / (pool.getParallelism() * 16));
+        pool.invoke(new ThreeSumTask(sorted, target, 0, outer, threshold, visitor, new AtomicBoolean()));
+    }
+
+    private static boolean visitPairs(final int[] sorted, final int index, final long target,
+                                      final TripleVisitor visitor, final AtomicBoolean stopped){
+        final long rest = target - sorted[index];
+        int low = index + 1;
+        int high = sorted.length - 1;
+        while (low < high && !stopped.get()){
+            final long sum = (long) sorted[low] + sorted[high];
+            if(sum < rest){
+                low++;
+            } else if(sum > rest){
+                high--;
+            } else {
+                if(!visitor.visit(sorted[index], sorted[low], sorted[high])){
+                    return false;
+                }
+                while (low < high && sorted[low] == sorted[low + 1]){
+                    low++;
+                }
+                low++;
+                high--;
+            }
+        }
+        return true;
+    }
+
+    private static boolean search(final int[] sorted, final int from, final long target, final int k,
+                                  final int[] chosen, final int depth){
+        if(sorted.length - from < k){
+            return false;
+        }
+
+        switch (k){
+            case 1:
+                return findOne(sorted, from, target, chosen, depth);
+            case 2:
+                return findTwo(sorted, from, target, chosen, depth);
+            case 4:
+                return findFour(sorted, from, target, chosen, depth);
+            default:
+                break;
+        }
+
+        final long largest = sum(sorted, sorted.length - k + 1, k - 1);
+        for(int index = from; index <= sorted.length - k; index++){
+            if(index > from && sorted[index] == sorted[index - 1]){
+                continue;
+            }
+            if(sum(sorted, index, k) > target){
+                break;
+            }
+            if(sorted[index] + largest < target){
+                continue;
+            }
+
+            chosen[depth] = sorted[index];
+            if(search(sorted, index + 1, target - sorted[index], k - 1, chosen, depth + 1)){
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean findOne(final int[] sorted, final int from, final long target,
+                                   final int[] chosen, final int depth){
+        if(!isInt(target) || Arrays.binarySearch(sorted, from, sorted.length, (int) target) < 0){
+            return false;
+        }
+        chosen[depth] = (int) target;
+        return true;
+    }
+
+    private static boolean findTwo(final int[] sorted, final int from, final long target,
+                                   final int[] chosen, final int depth){
+        int low = from;
+        int high = sorted.length - 1;
+        while (low < high){
+            final long sum = (long) sorted[low] + sorted[high];
+            if(sum == target){
+                chosen[depth] = sorted[low];
+                chosen[depth + 1] = sorted[high];
+                return true;
+            } else if(sum < target){
+                low++;
+            } else {
+                high--;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Looks for pairs (c, d) whose complement is the sum of a pair (a, b) with a &lt; b &lt; c &lt; d.
+     * The pairs ending before c are added to the map as c moves right, so the four entries are
+     * always distinct, and the map only needs the first value of one pair per sum.
+     */
+    private static boolean findFour(final int[] sorted, final int from, final long target,
+                                    final int[] chosen, final int depth){
+        final IntIntMap pairs = new IntIntMap(sorted.length - from);
+        for(int c = from + 2; c < sorted.length - 1; c++){
+            final int b = c - 1;
+            for(int a = from; a < b; a++){
+                final long sum = (long) sorted[a] + sorted[b];
+                if(isInt(sum)){
+                    pairs.putIfAbsent((int) sum, sorted[a]);
+                }
+            }
+
+            for(int d = c + 1; d < sorted.length; d++){
+                final long complement = target - sorted[c] - sorted[d];
+                if(isInt(complement) && pairs.containsKey((int) complement)){
+                    final int first = pairs.getOrDefault((int) complement, 0);
+                    chosen[depth] = first;
+                    chosen[depth + 1] = (int) (complement - first);
+                    chosen[depth + 2] = sorted[c];
+                    chosen[depth + 3] = sorted[d];
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Picks the entries in ascending order, taking each one out of the counts while the
+     * entries after it are searched, so that a value is never used more often than it occurs.
+     */
+    private static boolean searchCounted(final short[] counts, final int from, final int target, final int k,
+                                         final int[] chosen, final int depth){
+        if(k == 1){
+            if(target >= from && target < counts.length && counts[target] > 0){
+                chosen[depth] = target;
+                return true;
+            }
+            return false;
+        }
+
+        for(int value = from; (long) value * k <= target; value++){
+            if(counts[value] == 0){
+                continue;
+            }
+
+            counts[value]--;
+            chosen[depth] = value;
+            final boolean found = searchCounted(counts, value, target - value, k - 1, chosen, depth + 1);
+            counts[value]++;
+            if(found){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isBounded(final int[] numbers, final long target){
+        if(target < 0 || target > MAX_COUNTED_TARGET){
+            return false;
+        }
+        for(int number : numbers){
+            if(number < 0 || number > target){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static short[] count(final int[] numbers, final int target, final int k){
+        final short[] counts = new short[target + 1];
+        for(int number : numbers){
+            if(counts[number] < k){
+                counts[number]++;
+            }
+        }
+        return counts;
+    }
+
+    private static int[] compact(final int[] numbers, final int k){
+        final int[] sorted = numbers.clone();
+        Arrays.sort(sorted);
+
+        int length = 0;
+        int copies = 0;
+        for(int index = 0; index < sorted.length; index++){
+            copies = index > 0 && sorted[index] == sorted[index - 1] ? copies + 1 : 1;
+            if(copies <= k){
+                sorted[length++] = sorted[index];
+            }
+        }
+        return length == sorted.length ? sorted : Arrays.copyOf(sorted, length);
+    }
+
+    private static long sum(final int[] sorted, final int from, final int count){
+        long sum = 0;
+        for(int index = from; index < from + count; index++){
+            sum += sorted[index];
+        }
+        return sum;
+    }
+
+    private static boolean isInt(final long value){
+        return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE;
+    }
+
+}
@@ -0,0 +1,302 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A puzzle input which is memory mapped rather than read onto the heap. Lines and
+ * the fields within them are exposed as {@link Slice} views over the mapped bytes,
+ * and are only decoded into Strings or numbers when a solver asks for it.
+ */
+public final class MappedInput {
+
+    private static final byte NEW_LINE = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    /**
+     * An offset/length view over the mapped bytes. Slices never copy the content.
+     */
+    public static final class Slice {
+
+        private final ByteBuffer buffer;
+        private final int offset;
+        private final int length;
+
+        private Slice(final ByteBuffer buffer, final int offset, final int length) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        public int getOffset() {
+            return offset;
+        }
+
+        public int length() {
+            return length;
+        }
+
+        public boolean isEmpty() {
+            return length == 0;
+        }
+
+        public byte byteAt(final int index) {
+            Objects.checkIndex(index, length);
+            return buffer.get(offset + index);
+        }
+
+        public Slice slice(final int start, final int end) {
+            Objects.checkFromToIndex(start, end, length);
+            return new Slice(buffer, offset + start, end - start);
+        }
+
+        public int indexOf(final char delimiter, final int fromIndex) {
+            for(int index = fromIndex; index < length; index++){
+                if(buffer.get(offset + index) == delimiter){
+                    return index;
+                }
+            }
+            return -1;
+        }
+
+        public Slice[] split(final char delimiter) {
+            int count = 1;
+            for(int index = 0; index < length; index++){
+                if(buffer.get(offset + index) == delimiter){
+                    count++;
+                }
+            }
+
+            final Slice[] fields = new Slice[count];
+            int start = 0;
+            for(int field = 0; field < count - 1; field++){
+                final int end = indexOf(delimiter, start);
+                fields[field] = slice(start, end);
+                start = end + 1;
+            }
+            fields[count - 1] = slice(start, length);
+            return fields;
+        }
+
+        public long parseLong() {
+            if(length == 0){
+                throw new NumberFormatException("Empty slice at offset " + offset);
+            }
+
+            int index = 0;
+            final boolean negative = buffer.get(offset) == '-';
+            if(negative || buffer.get(offset) == '+'){
+                index++;
+                if(length == 1){
+                    throw new NumberFormatException("Invalid number: " + this);
+                }
+            }
+
+            // Accumulated negatively, as Long.parseLong does, so that Long.MIN_VALUE fits
+            final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+            long value = 0;
+            for(; index < length; index++){
+                final int digit = buffer.get(offset + index) - '0';
+                if(digit < 0 || digit > 9){
+                    throw new NumberFormatException("Invalid number: " + this);
+                }
+                if(value < limit / 10 || value * 10 < limit + digit){
+                    throw new NumberFormatException("Number out of range: " + this);
+                }
+                value = value * 10 - digit;
+            }
+
+            return negative ? value : -value;
+        }
+
+        public int parseInt() {
+            final long value = parseLong();
+            if(value < Integer.MIN_VALUE || value > Integer.MAX_VALUE){
+                throw new NumberFormatException("Number out of range: " + this);
+            }
+            return (int) value;
+        }
+
+        public boolean contentEquals(final String value) {
+            if(value.length() != length){
+                return false;
+            }
+            for(int index = 0; index < length; index++){
+                if(buffer.get(offset + index) != value.charAt(index)){
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            final byte[] bytes = new byte[length];
+            buffer.get(offset, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+    }
+
+    /**
+     * Start and end offsets of every line, built on first use so that solvers which only
+     * work on the raw buffer never pay for a sequential scan of the input.
+     */
+    private static final class LineIndex {
+
+        private final int[] starts;
+        private final int[] ends;
+        private final int count;
+
+        private LineIndex(final ByteBuffer buffer) {
+            int[] starts = new int[1024];
+            int[] ends = new int[1024];
+            int count = 0;
+            int start = 0;
+            final int limit = buffer.limit();
+            while(start < limit){
+                int end = start;
+                while(end < limit && buffer.get(end) != NEW_LINE){
+                    end++;
+                }
+
+                if(count == starts.length){
+                    starts = Arrays.copyOf(starts, count * 2);
+                    ends = Arrays.copyOf(ends, count * 2);
+                }
+
+                starts[count] = start;
+                ends[count] = end > start && buffer.get(end - 1) == CARRIAGE_RETURN ? end - 1 : end;
+                count++;
+                start = end + 1;
+            }
+
+            this.starts = starts;
+            this.ends = ends;
+            this.count = count;
+        }
+
+    }
+
+    private final ByteBuffer buffer;
+    private volatile LineIndex lines;
+
+    private MappedInput(final ByteBuffer buffer) {
+        this.buffer = Objects.requireNonNull(buffer);
+    }
+
+    public static MappedInput map(final Path file) throws IOException {
+        try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if(channel.size() > Integer.MAX_VALUE){
+                throw new IllegalArgumentException("Input is larger than 2 GB: " + file);
+            }
+
+            // The mapping stays valid after the channel has been closed
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new MappedInput(buffer);
+        }
+    }
+
+    public static MappedInput wrap(final ByteBuffer buffer) {
+        return new MappedInput(buffer.slice());
+    }
+
+    /**
+     * Returns a read-only view of the mapped bytes for solvers which parse the input themselves.
+     */
+    public ByteBuffer getBuffer() {
+        return buffer.asReadOnlyBuffer();
+    }
+
+    public int size() {
+        return buffer.limit();
+    }
+
+    public int lineCount() {
+        return getLines().count;
+    }
+
+    public Slice line(final int index) {
+        final LineIndex lines = getLines();
+        Objects.checkIndex(index, lines.count);
+        return new Slice(buffer, lines.starts[index], lines.ends[index] - lines.starts[index]);
+    }
+
+    public String[] toLines() {
+        final String[] lines = new String[lineCount()];
+        for(int index = 0; index < lines.length; index++){
+            lines[index] = line(index).toString();
+        }
+        return lines;
+    }
+
+    public int[] toInts() {
+        final int[] values = new int[lineCount()];
+        for(int index = 0; index < values.length; index++){
+            values[index] = line(index).parseInt();
+        }
+        return values;
+    }
+
+    public long[] toLongs() {
+        final long[] values = new long[lineCount()];
+        for(int index = 0; index < values.length; index++){
+            values[index] = line(index).parseLong();
+        }
+        return values;
+    }
+
+    public char[][] toCharGrid() {
+        final char[][] grid = new char[lineCount()][];
+        for(int row = 0; row < grid.length; row++){
+            final Slice line = line(row);
+            grid[row] = new char[line.length()];
+            for(int column = 0; column < line.length(); column++){
+                grid[row][column] = (char) line.byteAt(column);
+            }
+        }
+        return grid;
+    }
+
+    private LineIndex getLines() {
+        // Racing threads may both build the index; either result is equal and safely published
+        LineIndex lines = this.lines;
+        if(lines == null){
+            lines = new LineIndex(buffer);
+            this.lines = lines;
+        }
+        return lines;
+    }
+
+}
@@ -0,0 +1,193 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent;
+
+import jdk.jfr.AnnotationElement;
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.EventFactory;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+import jdk.jfr.ValueDescriptor;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Instrumentation which the solvers report into. Reporting is disabled unless the
+ * {@code advent.metrics} system property is set, in which case every report is
+ * aggregated for {@link #summary()} and emitted as a JFR event.
+ *
+ * Solvers count iterations in local variables and report them once per run, so
+ * nothing is reported from inside the hot loops.
+ */
+public final class Metrics {
+
+    /**
+     * JFR event types are created through {@link EventFactory} and used through method
+     * handles, since {@link Event} cannot be subclassed when compiling with {@code --release 14}
+     * on newer JDKs. The types are only registered once the first event is reported.
+     */
+    private static final class EventType {
+
+        private static final MethodHandle SHOULD_COMMIT;
+        private static final MethodHandle SET;
+        private static final MethodHandle COMMIT;
+
+        static {
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            try {
+                SHOULD_COMMIT = lookup.findVirtual(Event.class, "shouldCommit", MethodType.methodType(boolean.class));
+                SET = lookup.findVirtual(Event.class, "set", MethodType.methodType(void.class, int.class, Object.class));
+                COMMIT = lookup.findVirtual(Event.class, "commit", MethodType.methodType(void.class));
+            } catch (ReflectiveOperationException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        private static final EventType PHASE = new EventType("Phase", "Solver Phase",
+                new ValueDescriptor(int.class, "day", List.of(new AnnotationElement(Label.class, "Day"))),
+                new ValueDescriptor(String.class, "phase", List.of(new AnnotationElement(Label.class, "Phase"))),
+                new ValueDescriptor(long.class, "elapsed", List.of(new AnnotationElement(Label.class, "Elapsed"),
+                        new AnnotationElement(Timespan.class, Timespan.NANOSECONDS))));
+
+        private static final EventType ITERATIONS = new EventType("Iterations", "Solver Iterations",
+                new ValueDescriptor(int.class, "day", List.of(new AnnotationElement(Label.class, "Day"))),
+                new ValueDescriptor(String.class, "name", List.of(new AnnotationElement(Label.class, "Name"))),
+                new ValueDescriptor(long.class, "count", List.of(new AnnotationElement(Label.class, "Count"))));
+
+        private static final EventType PEAK_SIZE = new EventType("PeakSize", "Solver Collection Peak Size",
+                new ValueDescriptor(int.class, "day", List.of(new AnnotationElement(Label.class, "Day"))),
+                new ValueDescriptor(String.class, "name", List.of(new AnnotationElement(Label.class, "Name"))),
+                new ValueDescriptor(long.class, "size", List.of(new AnnotationElement(Label.class, "Size"))));
+
+        private final EventFactory factory;
+
+        private EventType(final String name, final String label, final ValueDescriptor... fields) {
+            this.factory = EventFactory.create(List.of(
+                    new AnnotationElement(Name.class, "info.dahlgren.advent." + name),
+                    new AnnotationElement(Label.class, label),
+                    new AnnotationElement(Category.class, new String[] { "Advent of Code" })),
+                    List.of(fields));
+        }
+
+        private void commit(final int day, final String name, final long value){
+            final Object event = factory.newEvent();
+            try {
+                if((boolean) SHOULD_COMMIT.invoke(event)){
+                    SET.invoke(event, 0, (Object) day);
+                    SET.invoke(event, 1, (Object) name);
+                    SET.invoke(event, 2, (Object) value);
+                    COMMIT.invoke(event);
+                }
+            } catch (Throwable e) {
+                throw new IllegalStateException("Unable to commit event: " + name, e);
+            }
+        }
+
+    }
+
+    private static final ConcurrentMap<String, LongAdder> PHASES = new ConcurrentSkipListMap<>();
+    private static final ConcurrentMap<String, LongAdder> ITERATIONS = new ConcurrentSkipListMap<>();
+    private static final ConcurrentMap<String, LongAccumulator> PEAK_SIZES = new ConcurrentSkipListMap<>();
+
+    private static volatile boolean enabled = Boolean.getBoolean("advent.metrics");
+
+    private Metrics() {
+
+    }
+
+    public static boolean isEnabled(){
+        return enabled;
+    }
+
+    public static void setEnabled(final boolean enabled){
+        Metrics.enabled = enabled;
+    }
+
+    public static void phase(final int day, final String phase, final long nanos){
+        if(!enabled){
+            return;
+        }
+
+        PHASES.computeIfAbsent(getKey(day, phase), key -> new LongAdder()).add(nanos);
+        EventType.PHASE.commit(day, phase, nanos);
+    }
+
+    public static void iterations(final int day, final String name, final long count){
+        if(!enabled){
+            return;
+        }
+
+        ITERATIONS.computeIfAbsent(getKey(day, name), key -> new LongAdder()).add(count);
+        EventType.ITERATIONS.commit(day, name, count);
+    }
+
+    public static void peakSize(final int day, final String name, final long size){
+        if(!enabled){
+            return;
+        }
+
+        PEAK_SIZES.computeIfAbsent(getKey(day, name), key -> new LongAccumulator(Math::max, 0)).accumulate(size);
+        EventType.PEAK_SIZE.commit(day, name, size);
+    }
+
+    public static String summary(){
+        final StringBuilder builder = new StringBuilder();
+        builder.append("Phases (ms)").append(System.lineSeparator());
+        for(Map.Entry<String, LongAdder> entry : PHASES.entrySet()){
+            builder.append(String.format("  %-30s %12.3f%n", entry.getKey(), entry.getValue().sum() / 1e6));
+        }
+        builder.append("Iterations").append(System.lineSeparator());
+        for(Map.Entry<String, LongAdder> entry : ITERATIONS.entrySet()){
+            builder.append(String.format("  %-30s %12d%n", entry.getKey(), entry.getValue().sum()));
+        }
+        builder.append("Peak sizes").append(System.lineSeparator());
+        for(Map.Entry<String, LongAccumulator> entry : PEAK_SIZES.entrySet()){
+            builder.append(String.format("  %-30s %12d%n", entry.getKey(), entry.getValue().get()));
+        }
+        return builder.toString();
+    }
+
+    public static void reset(){
+        PHASES.clear();
+        ITERATIONS.clear();
+        PEAK_SIZES.clear();
+    }
+
+    private static String getKey(final int day, final String name){
+        // Pad the day so that the summary is sorted by day
+        return String.format("Day %2d %s", day, name);
+    }
+
+}
@@ -0,0 +1,446 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.dahlgren.advent;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A compiled set of passport field rules. Values are validated straight from bytes, without
+ * allocating, boxing or throwing; a malformed value is simply invalid. Whole passports are validated
+ * against a schema by {@link Day4#execute(ByteBuffer, PassportSchema)}.
+ */
+public final class PassportSchema {
+
+    private static final int MAX_FIELDS = 64;
+    private static final int MAX_PATTERN_STATES = 63;
+    private static final long SATURATED = Long.MAX_VALUE / 10;
+
+    /**
+     * Checks a single value between two offsets of a buffer.
+     */
+    @FunctionalInterface
+    interface Rule {
+
+        boolean test(ByteBuffer input, int from, int to);
+
+    }
+
+    /**
+     * A numeric range for values ending with the given suffix, such as {@code 150-193} for {@code cm}.
+     */
+    public static final class Unit {
+
+        final byte[] suffix;
+        final long min;
+        final long max;
+
+        public Unit(final String suffix, final long min, final long max) {
+            this.suffix = toBytes(suffix);
+            this.min = min;
+            this.max = max;
+        }
+
+    }
+
+    /**
+     * The name of a field together with the rule its value has to pass.
+     */
+    public static final class Field {
+
+        final byte[] name;
+        final boolean required;
+        final Rule rule;
+        // Kept alongside the compiled rule so that columnar stores can check ranges on decoded numbers
+        final long[] range;
+        final Unit[] units;
+
+        private Field(final String name, final boolean required, final Rule rule) {
+            this(name, required, rule, null, null);
+        }
+
+        private Field(final String name, final boolean required, final Rule rule,
+                      final long[] range, final Unit[] units) {
+            this.name = toBytes(name);
+            this.required = required;
+            this.rule = rule;
+            this.range = range;
+            this.units = units;
+            if(this.name.length == 0){
+                throw new IllegalArgumentException("Empty field name");
+            }
+        }
+
+        public String getName() {
+            return new String(name, StandardCharsets.US_ASCII);
+        }
+
+        public boolean isRequired() {
+            return required;
+        }
+
+        /**
+         * A required decimal value between {@code min} and {@code max}, inclusive.
+         */
+        public static Field range(final String name, final long min, final long max) {
+            return new Field(name, true, (input, from, to) -> isInRange(input, from, to, min, max),
+                    new long[]{min, max}, null);
+        }
+
+        /**
+         * A required value equal to one of the given values.
+         */
+        public static Field oneOf(final String name, final String... values) {
+            final byte[][] options = Arrays.stream(values)
+                    .map(PassportSchema::toBytes)
+                    .toArray(byte[][]::new);
+            return new Field(name, true, (input, from, to) -> indexOf(options, input, from, to) >= 0);
+        }
+
+        /**
+         * A required value matching a pattern of literal characters and {@code [...]} classes, such as
+         * {@code #[0-9a-f]{6}}. Each element may be followed by {@code ?}, {@code *}, {@code +},
+         * {@code {n}} or {@code {n,m}}.
+         */
+        public static Field pattern(final String name, final String pattern) {
+            return new Field(name, true, new Pattern(pattern));
+        }
+
+        /**
+         * A required decimal value followed by one of the units, and within the range of that unit.
+         */
+        public static Field measure(final String name, final Unit... units) {
+            final Unit[] copy = units.clone();
+            return new Field(name, true, (input, from, to) -> isMeasure(input, from, to, copy), null, copy);
+        }
+
+        /**
+         * A required field whose value is not checked.
+         */
+        public static Field present(final String name) {
+            return new Field(name, true, (input, from, to) -> true);
+        }
+
+        /**
+         * A field which may be left out, and whose value is not checked.
+         */
+        public static Field optional(final String name) {
+            return new Field(name, false, (input, from, to) -> true);
+        }
+
+    }
+
+    /**
+     * A pattern compiled into a sequence of byte classes and simulated as an NFA over a bit set of
+     * states, where state {@code i} means that the first {@code i} elements have been matched.
+     */
+    private static final class Pattern implements Rule {
+
+        private final long[] low;
+        private final long[] high;
+        private final long skippable;
+        private final long repeatable;
+        private final int length;
+
+        private Pattern(final String pattern) {
+            final long[] low = new long[MAX_PATTERN_STATES];
+            final long[] high = new long[MAX_PATTERN_STATES];
+            long skippable = 0;
+            long repeatable = 0;
+            int length = 0;
+
+            int index = 0;
+            while(index < pattern.length()){
+                long classLow = 0;
+                long classHigh = 0;
+                if(pattern.charAt(index) == '['){
+                    final int end = pattern.indexOf(']', index + 1);
+                    if(end <= index + 1){
+                        throw new IllegalArgumentException("Invalid character class in pattern: " + pattern);
+                    }
+                    for(int position = index + 1; position < end; position++){
+                        final char first = pattern.charAt(position);
+                        char last = first;
+                        if(position + 2 < end && pattern.charAt(position + 1) == '-'){
+                            last = pattern.charAt(position + 2);
+                            position += 2;
+                        }
+                        if(last < first || last > 127){
+                            throw new IllegalArgumentException("Invalid character range in pattern: " + pattern);
+                        }
+                        for(char character = first; character <= last; character++){
+                            if(character < 64){
+                                classLow |= 1L << character;
+                            } else {
+                                classHigh |= 1L << (character - 64);
+                            }
+                        }
+                    }
+                    index = end + 1;
+                } else {
+                    final char character = pattern.charAt(index++);
+                    if(character > 127 || "]{}?*+".indexOf(character) >= 0){
+                        throw new IllegalArgumentException("Unexpected '" + character + "' in pattern: " + pattern);
+                    }
+                    if(character < 64){
+                        classLow = 1L << character;
+                    } else {
+                        classHigh = 1L << (character - 64);
+                    }
+                }
+
+                int min = 1;
+                int max = 1;
+                if(index < pattern.length()){
+                    switch (pattern.charAt(index)) {
+                        case '?' -> {
+                            min = 0;
+                            index++;
+                        }
+                        case '*' -> {
+                            min = 0;
+                            max = -1;
+                            index++;
+                        }
+                        case '+' -> {
+                            max = -1;
+                            index++;
+                        }
+                        case '{' -> {
+                            final int end = pattern.indexOf('}', index);
+                            if(end < 0){
+                                throw new IllegalArgumentException("Unterminated repetition in pattern: " + pattern);
+                            }
+                            final String[] bounds = pattern.substring(index + 1, end).split(",", -1);
+                            try {
+                                min = Integer.parseInt(bounds[0]);
+                                max = bounds.length == 1 ? min : Integer.parseInt(bounds[1]);
+                            } catch (NumberFormatException e){
+                                throw new IllegalArgumentException("Invalid repetition in pattern: " + pattern, e);
+                            }
+                            if(bounds.length > 2 || min < 0 || max < min){
+                                throw new IllegalArgumentException("Invalid repetition in pattern: " + pattern);
+                            }
+                            index = end + 1;
+                        }
+                        default -> { }
+                    }
+                }
+
+                // x{2,4} becomes x x x? x?, and x+ becomes x x*
+                final int copies = max < 0 ? min + 1 : max;
+                for(int copy = 0; copy < copies; copy++){
+                    if(length == MAX_PATTERN_STATES){
+                        throw new IllegalArgumentException("Pattern is too long: " + pattern);
+                    }
+                    low[length] = classLow;
+                    high[length] = classHigh;
+                    if(copy >= min){
+                        skippable |= 1L << length;
+                    }
+                    if(max < 0 && copy == copies - 1){
+                        skippable |= 1L << length;
+                        repeatable |= 1L << length;
+                    }
+                    length++;
+                }
+            }
+
+            this.low = Arrays.copyOf(low, length);
+            this.high = Arrays.copyOf(high, length);
+            this.skippable = skippable;
+            this.repeatable = repeatable;
+            this.length = length;
+        }
+
+        @Override
+        public boolean test(final ByteBuffer input, final int from, final int to) {
+            long states = close(1L);
+            for(int index = from; index < to && states != 0; index++){
+                final int value = input.get(index);
+                if(value < 0){
+                    return false;
+                }
+
+                long next = 0;
+                long pending = states & ~(1L << length);
+                while(pending != 0){
+                    final int state = Long.numberOfTrailingZeros(pending);
+                    pending &= pending - 1;
+                    final long bits = value < 64 ? low[state] >>> value : high[state] >>> (value - 64);
+                    if((bits & 1L) != 0){
+                        next |= (repeatable & (1L << state)) != 0 ? 1L << state : 1L << (state + 1);
+                    }
+                }
+                states = close(next);
+            }
+            return (states & (1L << length)) != 0;
+        }
+
+        private long close(final long states) {
+            long closed = states;
+            long pending = states & skippable;
+            while(pending != 0){
+                final int state = Long.numberOfTrailingZeros(pending);
+                pending &= pending - 1;
+                final long next = 1L << (state + 1);
+                if((closed & next) == 0){
+                    closed |= next;
+                    pending |= next & skippable;
+                }
+            }
+            return closed;
+        }
+
+    }
+
+    private final Field[] fields;
+    private final long requiredMask;
+
+    private PassportSchema(final Field[] fields) {
+        this.fields = fields;
+        long requiredMask = 0;
+        for(int index = 0; index < fields.length; index++){
+            if(fields[index].required){
+                requiredMask |= 1L << index;
+            }
+        }
+        this.requiredMask = requiredMask;
+    }
+
+    public static PassportSchema of(final Field... fields) {
+        if(fields.length > MAX_FIELDS){
+            throw new IllegalArgumentException("A schema supports at most " + MAX_FIELDS + " fields");
+        }
+        for(int first = 0; first < fields.length; first++){
+            Objects.requireNonNull(fields[first]);
+            for(int second = 0; second < first; second++){
+                if(Arrays.equals(fields[first].name, fields[second].name)){
+                    throw new IllegalArgumentException("Duplicate field: " + fields[first].getName());
+                }
+            }
+        }
+        return new PassportSchema(fields.clone());
+    }
+
+    public int getFieldCount() {
+        return fields.length;
+    }
+
+    public Field getField(final int index) {
+        return fields[index];
+    }
+
+    /**
+     * Returns a mask with bit {@code i} set when field {@code i} has to be present and valid.
+     */
+    public long getRequiredMask() {
+        return requiredMask;
+    }
+
+    /**
+     * Returns the index of the field with the name between the offsets, or -1 for unknown fields.
+     */
+    public int indexOf(final ByteBuffer input, final int from, final int to) {
+        for(int index = 0; index < fields.length; index++){
+            if(equals(fields[index].name, input, from, to)){
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Tests the value between the offsets against the rule of the field with the given index.
+     */
+    public boolean isValid(final int field, final ByteBuffer input, final int from, final int to) {
+        return fields[field].rule.test(input, from, to);
+    }
+
+    static boolean isSeparator(final byte value) {
+        return value == ' ' || value == '\n' || value == '\r' || value == '\t';
+    }
+
+    static boolean isInRange(final ByteBuffer input, final int from, final int to, final long min, final long max) {
+        final long value = parseDigits(input, from, to);
+        return value >= 0 && value >= min && value <= max;
+    }
+
+    /**
+     * Parses the decimal digits between the offsets, saturating instead of overflowing.
+     * Returns -1 when the range is empty or contains anything but digits.
+     */
+    static long parseDigits(final ByteBuffer input, final int from, final int to) {
+        if(from >= to){
+            return -1;
+        }
+        long value = 0;
+        for(int index = from; index < to; index++){
+            final int digit = input.get(index) - '0';
+            if(digit < 0 || digit > 9){
+                return -1;
+            }
+            value = value >= SATURATED ? SATURATED : value * 10 + digit;
+        }
+        return value;
+    }
+
+    static int indexOf(final byte[][] options, final ByteBuffer input, final int from, final int to) {
+        for(int option = 0; option < options.length; option++){
+            if(equals(options[option], input, from, to)){
+                return option;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isMeasure(final ByteBuffer input, final int from, final int to, final Unit[] units) {
+        for(final Unit unit : units){
+            final int end = to - unit.suffix.length;
+            if(end > from && equals(unit.suffix, input, end, to)){
+                return isInRange(input, from, end, unit.min, unit.max);
+            }
+        }
+        return false;
+    }
+
+    private static boolean equals(final byte[] expected, final ByteBuffer input, final int from, final int to) {
+        if(to - from != expected.length){
+            return false;
+        }
+        for(int index = 0; index < expected.length; index++){
+            if(input.get(from + index) != expected[index]){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] toBytes(final String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+}
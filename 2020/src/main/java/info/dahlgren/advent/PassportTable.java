@@ -0,0 +1,483 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.dahlgren.advent;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Passports parsed once and stored column by column, so that they can be validated repeatedly
+ * under different {@link PassportSchema schemas} without going back to the text. Numeric fields
+ * are kept as int columns with a dictionary-encoded unit, text fields as dictionary codes, and
+ * every column has a bitmap of the passports which carry the field.
+ */
+public final class PassportTable {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MAX_DIGITS = 9;
+
+    /**
+     * Distinct values, concatenated into a single buffer and numbered in order of appearance. Values are
+     * looked up by hashing their bytes straight from the input into an open addressing table of codes
+     * with linear probing, and compared in place against the buffer.
+     */
+    private static final class Dictionary {
+
+        private static final int MIN_SLOTS = 16;
+
+        private byte[] bytes = new byte[256];
+        private int[] offsets = new int[16];
+        private int[] hashes = new int[16];
+        private int[] slots = empty(MIN_SLOTS);
+        private int size;
+
+        private int encode(final ByteBuffer input, final int from, final int to) {
+            final int hash = hash(input, from, to);
+            final int mask = slots.length - 1;
+            int slot = hash & mask;
+            for(int code = slots[slot]; code >= 0; code = slots[slot]){
+                if(hashes[code] == hash && equals(code, input, from, to)){
+                    return code;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            if(size + 2 > offsets.length){
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+                hashes = Arrays.copyOf(hashes, offsets.length);
+            }
+            final int length = to - from;
+            final int offset = offsets[size];
+            if(offset + length > bytes.length){
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, offset + length));
+            }
+            input.get(from, bytes, offset, length);
+            offsets[size + 1] = offset + length;
+            hashes[size] = hash;
+            slots[slot] = size;
+            if(++size * 2 > slots.length){
+                rehash();
+            }
+            return size - 1;
+        }
+
+        private boolean equals(final int code, final ByteBuffer input, final int from, final int to) {
+            final int offset = offsets[code];
+            if(offsets[code + 1] - offset != to - from){
+                return false;
+            }
+            for(int index = from; index < to; index++){
+                if(bytes[offset + index - from] != input.get(index)){
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void rehash() {
+            slots = empty(slots.length * 2);
+            final int mask = slots.length - 1;
+            for(int code = 0; code < size; code++){
+                int slot = hashes[code] & mask;
+                while(slots[slot] >= 0){
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = code;
+            }
+        }
+
+        private static int hash(final ByteBuffer input, final int from, final int to) {
+            int hash = 0;
+            for(int index = from; index < to; index++){
+                hash = hash * 31 + input.get(index);
+            }
+            hash *= 0x9E3779B9;
+            return hash ^ (hash >>> 16);
+        }
+
+        private static int[] empty(final int capacity) {
+            final int[] slots = new int[capacity];
+            Arrays.fill(slots, -1);
+            return slots;
+        }
+
+        private void trim() {
+            slots = null;
+            hashes = null;
+            bytes = Arrays.copyOf(bytes, offsets[size]);
+            offsets = Arrays.copyOf(offsets, size + 1);
+        }
+
+        /**
+         * Evaluates the rule once per distinct value. The result has at least one entry, so that
+         * it can be indexed by the default code of passports without the field.
+         */
+        private boolean[] test(final PassportSchema.Rule rule) {
+            final ByteBuffer buffer = ByteBuffer.wrap(bytes).asReadOnlyBuffer();
+            final boolean[] valid = new boolean[Math.max(1, size)];
+            for(int code = 0; code < size; code++){
+                valid[code] = rule.test(buffer, offsets[code], offsets[code + 1]);
+            }
+            return valid;
+        }
+
+        private boolean endsWith(final int code, final byte[] suffix) {
+            final int length = offsets[code + 1] - offsets[code];
+            return length >= suffix.length &&
+                    Arrays.equals(bytes, offsets[code + 1] - suffix.length, offsets[code + 1], suffix, 0, suffix.length);
+        }
+
+        private int length(final int code) {
+            return offsets[code + 1] - offsets[code];
+        }
+
+    }
+
+    private abstract static class Column {
+
+        long[] present = new long[INITIAL_CAPACITY >>> 6];
+
+        abstract void add(int row, ByteBuffer input, int from, int to);
+
+        /**
+         * Sets bit {@code row % 64} of word {@code row / 64} for every row whose value passes the rule of
+         * the field, and clears it otherwise. The result for rows without the field is undefined.
+         */
+        abstract void test(PassportSchema.Field field, int rows, long[] valid);
+
+        void grow(final int capacity) {
+            present = Arrays.copyOf(present, capacity >>> 6);
+        }
+
+        void trim(final int rows) {
+            present = Arrays.copyOf(present, (rows + 63) >>> 6);
+        }
+
+    }
+
+    /**
+     * Text values as codes into a dictionary of the distinct values.
+     */
+    private static final class DictionaryColumn extends Column {
+
+        private final Dictionary dictionary = new Dictionary();
+        private int[] codes = new int[INITIAL_CAPACITY];
+
+        @Override
+        void add(final int row, final ByteBuffer input, final int from, final int to) {
+            present[row >>> 6] |= 1L << row;
+            codes[row] = dictionary.encode(input, from, to);
+        }
+
+        @Override
+        void test(final PassportSchema.Field field, final int rows, final long[] valid) {
+            final boolean[] validCodes = dictionary.test(field.rule);
+            for(int word = 0; word < valid.length; word++){
+                final int base = word << 6;
+                final int end = Math.min(64, rows - base);
+                long bits = 0;
+                for(int bit = 0; bit < end; bit++){
+                    bits |= (validCodes[codes[base + bit]] ? 1L : 0L) << bit;
+                }
+                valid[word] = bits;
+            }
+        }
+
+        @Override
+        void grow(final int capacity) {
+            super.grow(capacity);
+            codes = Arrays.copyOf(codes, capacity);
+        }
+
+        @Override
+        void trim(final int rows) {
+            super.trim(rows);
+            codes = Arrays.copyOf(codes, rows);
+            dictionary.trim();
+        }
+
+    }
+
+    /**
+     * Values which start with a plain decimal number of at most nine digits, without leading zeros,
+     * stored as the number and a dictionary-encoded unit made of the remaining characters. Any other
+     * value is kept verbatim in a separate dictionary and marked with a negative number.
+     */
+    private static final class NumberColumn extends Column {
+
+        private final Dictionary units = new Dictionary();
+        private final Dictionary others = new Dictionary();
+        private int[] values = new int[INITIAL_CAPACITY];
+        private int[] codes = new int[INITIAL_CAPACITY];
+        private int[] otherRows = new int[16];
+        private int otherCount;
+
+        @Override
+        void add(final int row, final ByteBuffer input, final int from, final int to) {
+            present[row >>> 6] |= 1L << row;
+
+            int end = from;
+            int value = 0;
+            while(end < to && end - from <= MAX_DIGITS && input.get(end) >= '0' && input.get(end) <= '9'){
+                value = value * 10 + (input.get(end) - '0');
+                end++;
+            }
+
+            final int digits = end - from;
+            if(digits >= 1 && digits <= MAX_DIGITS && (digits == 1 || input.get(from) != '0')){
+                values[row] = value;
+                codes[row] = units.encode(input, end, to);
+                return;
+            }
+
+            values[row] = -1;
+            codes[row] = others.encode(input, from, to);
+            if(otherCount == otherRows.length){
+                otherRows = Arrays.copyOf(otherRows, otherCount * 2);
+            }
+            otherRows[otherCount++] = row;
+        }
+
+        @Override
+        void test(final PassportSchema.Field field, final int rows, final long[] valid) {
+            if(field.range != null){
+                testRange(field.range[0], field.range[1], rows, valid);
+            } else if(field.units != null && isPlainUnits(field.units)){
+                testUnits(field.units, rows, valid);
+            } else {
+                testRendered(field.rule, rows, valid);
+            }
+
+            final boolean[] validOthers = others.test(field.rule);
+            for(int index = 0; index < otherCount; index++){
+                final int row = otherRows[index];
+                if(values[row] < 0){
+                    final long bit = 1L << row;
+                    valid[row >>> 6] = validOthers[codes[row]] ? valid[row >>> 6] | bit : valid[row >>> 6] & ~bit;
+                }
+            }
+        }
+
+        private void testRange(final long min, final long max, final int rows, final long[] valid) {
+            int empty = -1;
+            for(int code = 0; code < units.size; code++){
+                if(units.length(code) == 0){
+                    empty = code;
+                }
+            }
+
+            for(int word = 0; word < valid.length; word++){
+                final int base = word << 6;
+                final int end = Math.min(64, rows - base);
+                long bits = 0;
+                for(int bit = 0; bit < end; bit++){
+                    final long value = values[base + bit];
+                    bits |= (codes[base + bit] == empty & value >= min & value <= max ? 1L : 0L) << bit;
+                }
+                valid[word] = bits;
+            }
+        }
+
+        private void testUnits(final PassportSchema.Unit[] rule, final int rows, final long[] valid) {
+            // The first unit with a matching suffix decides, as in the compiled rule
+            final long[] min = new long[Math.max(1, units.size)];
+            final long[] max = new long[min.length];
+            Arrays.fill(min, 1);
+            for(int code = 0; code < units.size; code++){
+                for(final PassportSchema.Unit unit : rule){
+                    if(units.endsWith(code, unit.suffix)){
+                        if(units.length(code) == unit.suffix.length){
+                            min[code] = unit.min;
+                            max[code] = unit.max;
+                        }
+                        break;
+                    }
+                }
+            }
+
+            for(int word = 0; word < valid.length; word++){
+                final int base = word << 6;
+                final int end = Math.min(64, rows - base);
+                long bits = 0;
+                for(int bit = 0; bit < end; bit++){
+                    final long value = values[base + bit];
+                    final int code = codes[base + bit];
+                    bits |= (value >= min[code] & value <= max[code] ? 1L : 0L) << bit;
+                }
+                valid[word] = bits;
+            }
+        }
+
+        private void testRendered(final PassportSchema.Rule rule, final int rows, final long[] valid) {
+            final byte[] scratch = new byte[MAX_DIGITS + units.bytes.length];
+            final ByteBuffer buffer = ByteBuffer.wrap(scratch);
+            Arrays.fill(valid, 0L);
+            for(int row = 0; row < rows; row++){
+                int value = values[row];
+                if(value < 0){
+                    continue;
+                }
+
+                int start = MAX_DIGITS;
+                do {
+                    scratch[--start] = (byte) ('0' + value % 10);
+                    value /= 10;
+                } while(value != 0);
+                final int code = codes[row];
+                final int length = units.length(code);
+                System.arraycopy(units.bytes, units.offsets[code], scratch, MAX_DIGITS, length);
+                if(rule.test(buffer, start, MAX_DIGITS + length)){
+                    valid[row >>> 6] |= 1L << row;
+                }
+            }
+        }
+
+        private static boolean isPlainUnits(final PassportSchema.Unit[] rule) {
+            // Digits in a suffix could overlap the number, which only the compiled rule handles
+            for(final PassportSchema.Unit unit : rule){
+                for(final byte character : unit.suffix){
+                    if(character >= '0' && character <= '9'){
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        @Override
+        void grow(final int capacity) {
+            super.grow(capacity);
+            values = Arrays.copyOf(values, capacity);
+            codes = Arrays.copyOf(codes, capacity);
+        }
+
+        @Override
+        void trim(final int rows) {
+            super.trim(rows);
+            values = Arrays.copyOf(values, rows);
+            codes = Arrays.copyOf(codes, rows);
+            otherRows = Arrays.copyOf(otherRows, otherCount);
+            units.trim();
+            others.trim();
+        }
+
+    }
+
+    private final Column[] columns = new Column[Day4.FIELDS.length];
+    private int rows;
+    private int capacity = INITIAL_CAPACITY;
+
+    private PassportTable() {
+        for(int index = 0; index < columns.length; index++){
+            final PassportSchema.Field field = Day4.VALID_FIELDS.getField(index);
+            columns[index] = field.range != null || field.units != null ? new NumberColumn() : new DictionaryColumn();
+        }
+    }
+
+    public static PassportTable load(final MappedInput input) {
+        return load(input.getBuffer());
+    }
+
+    /**
+     * Loads the passports between the position and the limit of the buffer. Passports are separated
+     * by blank lines, and fields other than the eight known ones are dropped.
+     */
+    public static PassportTable load(final ByteBuffer input) {
+        final PassportTable table = new PassportTable();
+        Day4.scan(input, new Day4.PassportVisitor() {
+
+            @Override
+            public void visitField(final int field, final ByteBuffer buffer, final int key, final int from, final int to) {
+                if(field < 0){
+                    return;
+                }
+                if(table.rows == table.capacity){
+                    table.capacity = Math.multiplyExact(table.capacity, 2);
+                    for(final Column column : table.columns){
+                        column.grow(table.capacity);
+                    }
+                }
+                table.columns[field].add(table.rows, buffer, from, to);
+            }
+
+            @Override
+            public void visitEnd() {
+                table.rows++;
+            }
+
+        });
+
+        for(final Column column : table.columns){
+            column.trim(table.rows);
+        }
+        return table;
+    }
+
+    public int size() {
+        return rows;
+    }
+
+    /**
+     * Returns a bitmap with bit {@code row % 64} of word {@code row / 64} set for every passport
+     * which has all required fields of the schema, with valid values. Each required field is checked
+     * for all passports in one loop over its column, straight into words of the bitmap.
+     */
+    public long[] validate(final PassportSchema schema) {
+        final long[] result = new long[(rows + 63) >>> 6];
+        Arrays.fill(result, -1L);
+        if((rows & 63) != 0){
+            result[result.length - 1] = (1L << rows) - 1;
+        }
+
+        final long[] valid = new long[result.length];
+        for(int index = 0; index < schema.getFieldCount(); index++){
+            final PassportSchema.Field field = schema.getField(index);
+            if(!field.isRequired()){
+                continue;
+            }
+
+            final int column = Arrays.asList(Day4.FIELDS).indexOf(field.getName());
+            if(column < 0){
+                Arrays.fill(result, 0L);
+                return result;
+            }
+
+            columns[column].test(field, rows, valid);
+            final long[] present = columns[column].present;
+            for(int word = 0; word < result.length; word++){
+                result[word] &= present[word] & valid[word];
+            }
+        }
+        return result;
+    }
+
+    public int count(final PassportSchema schema) {
+        int count = 0;
+        for(final long word : validate(schema)){
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,396 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * An on-disk cache of solver results keyed by the content hash of the input. The key
+ * also covers a fingerprint of all classes in the directory or JAR the solver was loaded
+ * from, so changing a solver or any helper it uses invalidates the cached results.
+ *
+ * Every entry is a file in the cache directory. The entries and their sizes are indexed in
+ * memory when the cache is created, in least recently used order. Once the total size of the
+ * entries exceeds the limit, the least recently used entries are evicted. Entries written by
+ * other processes afterwards are only indexed once they are read.
+ *
+ * Results are stored together with their type, so a cached result is the same integer, long or
+ * string the solver returned. Results of any other type are not cached.
+ *
+ * The cache is configured through the {@code advent.cache.dir} and {@code advent.cache.bytes}
+ * system properties, and is disabled when no directory is configured.
+ */
+public final class ResultCache {
+
+    public static final String DIRECTORY_PROPERTY = "advent.cache.dir";
+    public static final String BYTES_PROPERTY = "advent.cache.bytes";
+
+    private static final long DEFAULT_BYTES = 1024 * 1024;
+    private static final String SUFFIX = ".result";
+    private static final ResultCache DISABLED = new ResultCache(null, 0);
+    private static final ConcurrentMap<String, byte[]> CODE_FINGERPRINTS = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private final long maxBytes;
+    // Entry sizes in access order, guarded by the map itself
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private ResultCache(final Path directory, final long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+    }
+
+    public static ResultCache create(final Path directory, final long maxBytes){
+        if(maxBytes < 1){
+            throw new IllegalArgumentException("Invalid max bytes: " + maxBytes);
+        }
+
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to create cache directory: " + directory, e);
+        }
+
+        final ResultCache cache = new ResultCache(directory, maxBytes);
+        cache.load();
+        return cache;
+    }
+
+    public static ResultCache fromSystemProperties(){
+        final String directory = System.getProperty(DIRECTORY_PROPERTY);
+        if(directory == null || directory.isBlank()){
+            return DISABLED;
+        }
+
+        return create(Path.of(directory), Long.getLong(BYTES_PROPERTY, DEFAULT_BYTES));
+    }
+
+    public static ResultCache disabled(){
+        return DISABLED;
+    }
+
+    public boolean isEnabled(){
+        return directory != null;
+    }
+
+    /**
+     * Returns the SHA-256 of the input, which can be shared by the keys of both parts.
+     */
+    public String getInputHash(final MappedInput input){
+        final MessageDigest digest = getDigest();
+        digest.update(input.getBuffer());
+        return toHex(digest.digest());
+    }
+
+    public String getKey(final Solver<?> solver, final int part, final MappedInput input){
+        return getKey(solver, part, getInputHash(input));
+    }
+
+    public String getKey(final Solver<?> solver, final int part, final String inputHash){
+        final MessageDigest digest = getDigest();
+        digest.update(inputHash.getBytes(StandardCharsets.US_ASCII));
+        digest.update(getCodeFingerprint(solver.getClass()));
+        digest.update(solver.getClass().getName().getBytes(StandardCharsets.UTF_8));
+        return toHex(digest.digest()) + "-day" + solver.getDay() + "-part" + part;
+    }
+
+    public Optional<String> get(final String key){
+        if(!isEnabled()){
+            return Optional.empty();
+        }
+
+        final Path file = directory.resolve(key + SUFFIX);
+        try {
+            final String value = Files.readString(file, StandardCharsets.UTF_8);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            index(key, Files.size(file));
+            return Optional.of(value);
+        } catch (NoSuchFileException e){
+            remove(key);
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read cache entry: " + file, e);
+        }
+    }
+
+    public void put(final String key, final String value){
+        if(!isEnabled()){
+            return;
+        }
+
+        final Path file = directory.resolve(key + SUFFIX);
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        try {
+            // Write to a temporary file first so that concurrent readers never see a partial entry
+            final Path temporary = Files.createTempFile(directory, key, ".tmp");
+            Files.write(temporary, bytes);
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write cache entry: " + file, e);
+        }
+
+        index(key, bytes.length);
+    }
+
+    /**
+     * Returns the result stored under the key, or nothing if there is none or it was stored in another format.
+     */
+    public Optional<Object> getResult(final String key){
+        return get(key).flatMap(ResultCache::decode);
+    }
+
+    /**
+     * Stores the result under the key, unless it is not an integer, a long or a string.
+     */
+    public void putResult(final String key, final Object result){
+        encode(result).ifPresent(value -> put(key, value));
+    }
+
+    /**
+     * Returns the cached result of the part, or parses the input and solves the part if it is not cached.
+     */
+    public <T> Object solve(final Solver<T> solver, final int part, final MappedInput input){
+        if(!isEnabled()){
+            return solveUncached(solver, part, input);
+        }
+
+        final String key = getKey(solver, part, input);
+        final Optional<Object> cached = getResult(key);
+        if(cached.isPresent()){
+            return cached.get();
+        }
+
+        final Object result = solveUncached(solver, part, input);
+        putResult(key, result);
+        return result;
+    }
+
+    /**
+     * Returns the total size of the indexed entries in bytes.
+     */
+    public long size(){
+        synchronized (entries) {
+            return totalBytes;
+        }
+    }
+
+    private static <T> Object solveUncached(final Solver<T> solver, final int part, final MappedInput input){
+        final T parsed = solver.parse(input);
+        return part == 1 ? solver.solvePart1(parsed) : solver.solvePart2(parsed);
+    }
+
+    private static Optional<String> encode(final Object result){
+        if(result instanceof Integer || result instanceof Long || result instanceof String){
+            return Optional.of(result.getClass().getSimpleName() + ":" + result);
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<Object> decode(final String value){
+        final int separator = value.indexOf(':');
+        if(separator < 0){
+            return Optional.empty();
+        }
+
+        final String result = value.substring(separator + 1);
+        try {
+            return switch (value.substring(0, separator)) {
+                case "Integer" -> Optional.of(Integer.valueOf(result));
+                case "Long" -> Optional.of(Long.valueOf(result));
+                case "String" -> Optional.of(result);
+                default -> Optional.empty();
+            };
+        } catch (NumberFormatException e){
+            return Optional.empty();
+        }
+    }
+
+    private void load(){
+        final List<Path> files;
+        try(Stream<Path> list = Files.list(directory)) {
+            files = list.filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .sorted(Comparator.comparing(ResultCache::getLastModified))
+                    .collect(toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to list cache directory: " + directory, e);
+        }
+
+        for(Path file : files){
+            final String name = file.getFileName().toString();
+            try {
+                index(name.substring(0, name.length() - SUFFIX.length()), Files.size(file));
+            } catch (NoSuchFileException ignored){
+                // Removed by another process in the meantime
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to read cache entry: " + file, e);
+            }
+        }
+    }
+
+    private void index(final String key, final long bytes){
+        synchronized (entries) {
+            final Long previous = entries.put(key, bytes);
+            totalBytes += bytes - (previous == null ? 0 : previous);
+
+            final Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+            while(totalBytes > maxBytes && eldest.hasNext()){
+                final Map.Entry<String, Long> entry = eldest.next();
+                if(entry.getKey().equals(key)){
+                    // Everything older is gone, keep the entry that was just used even if it is too large
+                    break;
+                }
+                delete(entry.getKey());
+                totalBytes -= entry.getValue();
+                eldest.remove();
+            }
+        }
+    }
+
+    private void remove(final String key){
+        synchronized (entries) {
+            final Long previous = entries.remove(key);
+            if(previous != null){
+                totalBytes -= previous;
+            }
+        }
+    }
+
+    private void delete(final String key){
+        final Path file = directory.resolve(key + SUFFIX);
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to evict cache entry: " + file, e);
+        }
+    }
+
+    private static FileTime getLastModified(final Path file){
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            // The entry was removed by another process, evict it first
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    /**
+     * Hashes every class in the directory or JAR the type was loaded from, once per location.
+     * Falls back to the bytecode of the type alone when the location is not a local file.
+     */
+    private static byte[] getCodeFingerprint(final Class<?> type){
+        final CodeSource source = type.getProtectionDomain().getCodeSource();
+        final URL location = source == null ? null : source.getLocation();
+        if(location == null || !"file".equals(location.getProtocol())){
+            return getClassFingerprint(type);
+        }
+
+        return CODE_FINGERPRINTS.computeIfAbsent(location.toString(), key -> {
+            try {
+                return getLocationFingerprint(Path.of(location.toURI()));
+            } catch (URISyntaxException e) {
+                return getClassFingerprint(type);
+            }
+        });
+    }
+
+    private static byte[] getLocationFingerprint(final Path location){
+        final MessageDigest digest = getDigest();
+        try {
+            if(Files.isDirectory(location)){
+                final List<Path> classes;
+                try(Stream<Path> files = Files.walk(location)) {
+                    classes = files.filter(file -> file.getFileName().toString().endsWith(".class"))
+                            .sorted()
+                            .collect(toList());
+                }
+                for(Path file : classes){
+                    digest.update(location.relativize(file).toString().getBytes(StandardCharsets.UTF_8));
+                    digest.update(Files.readAllBytes(file));
+                }
+            } else {
+                try(InputStream jar = Files.newInputStream(location)) {
+                    final byte[] buffer = new byte[8192];
+                    int read;
+                    while((read = jar.read(buffer)) > 0){
+                        digest.update(buffer, 0, read);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to fingerprint classes in " + location, e);
+        }
+        return digest.digest();
+    }
+
+    private static byte[] getClassFingerprint(final Class<?> type){
+        try(InputStream bytecode = type.getResourceAsStream(type.getSimpleName() + ".class")) {
+            return bytecode == null ? new byte[0] : getDigest().digest(bytecode.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read class: " + type.getName(), e);
+        }
+    }
+
+    private static String toHex(final byte[] bytes){
+        final StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for(byte value : bytes){
+            hex.append(Character.forDigit((value >>> 4) & 0xF, 16)).append(Character.forDigit(value & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static MessageDigest getDigest(){
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+}
@@ -0,0 +1,259 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static java.util.stream.Collectors.toList;
+
+public final class Runner {
+
+    public static final class Report {
+
+        private final int day;
+        private final Object part1;
+        private final Object part2;
+        private final long parseNanos;
+        private final long part1Nanos;
+        private final long part2Nanos;
+
+        public Report(final int day, final Object part1, final Object part2,
+                      final long parseNanos, final long part1Nanos, final long part2Nanos) {
+            this.day = day;
+            this.part1 = Objects.requireNonNull(part1);
+            this.part2 = Objects.requireNonNull(part2);
+            this.parseNanos = parseNanos;
+            this.part1Nanos = part1Nanos;
+            this.part2Nanos = part2Nanos;
+        }
+
+        public int getDay() {
+            return day;
+        }
+
+        public Object getPart1() {
+            return part1;
+        }
+
+        public Object getPart2() {
+            return part2;
+        }
+
+        public long getParseNanos() {
+            return parseNanos;
+        }
+
+        public long getPart1Nanos() {
+            return part1Nanos;
+        }
+
+        public long getPart2Nanos() {
+            return part2Nanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Day %d: part 1 = %s (%.3f ms), part 2 = %s (%.3f ms), parse %.3f ms",
+                    day, part1, part1Nanos / 1e6, part2, part2Nanos / 1e6, parseNanos / 1e6);
+        }
+
+    }
+
+    private static final class Timed {
+
+        private final Object result;
+        private final long nanos;
+
+        public Timed(final Object result, final long nanos) {
+            this.result = result;
+            this.nanos = nanos;
+        }
+
+    }
+
+    private Runner() {
+
+    }
+
+    public static List<Solver<?>> getSolvers(){
+        final List<Solver<?>> solvers = new ArrayList<>();
+        for(Solver<?> solver : ServiceLoader.load(Solver.class)){
+            solvers.add(solver);
+        }
+
+        solvers.sort(Comparator.comparingInt(Solver::getDay));
+        return solvers;
+    }
+
+    public static Solver<?> getSolver(final int day){
+        return getSolvers().stream()
+                .filter(solver -> solver.getDay() == day)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No solver for day " + day));
+    }
+
+    public static List<Report> runAll(final Path directory, final ForkJoinPool pool){
+        return runAll(directory, pool, ResultCache.fromSystemProperties());
+    }
+
+    /**
+     * Solves every registered day at once on the given pool, reading the input
+     * for each day from {@code DayN.txt} in the directory.
+     */
+    public static List<Report> runAll(final Path directory, final ForkJoinPool pool, final ResultCache cache){
+        return runAll(getSolvers(), directory, pool, cache);
+    }
+
+    /**
+     * Solves the days of the given solvers at once on the given pool. Reports are returned in the order of the solvers.
+     */
+    public static List<Report> runAll(final List<Solver<?>> solvers, final Path directory,
+                                      final ForkJoinPool pool, final ResultCache cache){
+        final List<ForkJoinTask<Report>> tasks = solvers.stream()
+                .map(solver -> pool.submit(() -> run(solver, getInput(directory, solver.getDay()), cache)))
+                .collect(toList());
+
+        return tasks.stream()
+                .map(ForkJoinTask::join)
+                .collect(toList());
+    }
+
+    /**
+     * Returns the cached results if both parts are cached, and otherwise solves and caches both parts.
+     * Cached results have the type the solver returned, and cached reports have zero timings.
+     */
+    public static <T> Report run(final Solver<T> solver, final MappedInput input, final ResultCache cache){
+        if(!cache.isEnabled()){
+            return run(solver, input);
+        }
+
+        final String inputHash = cache.getInputHash(input);
+        final String part1Key = cache.getKey(solver, 1, inputHash);
+        final String part2Key = cache.getKey(solver, 2, inputHash);
+        final Optional<Object> part1 = cache.getResult(part1Key);
+        final Optional<Object> part2 = cache.getResult(part2Key);
+        if(part1.isPresent() && part2.isPresent()){
+            return new Report(solver.getDay(), part1.get(), part2.get(), 0, 0, 0);
+        }
+
+        final Report report = run(solver, input);
+        cache.putResult(part1Key, report.getPart1());
+        cache.putResult(part2Key, report.getPart2());
+        return report;
+    }
+
+    /**
+     * Parses the input and then solves both parts, timing each phase separately. Inside a fork/join
+     * pool, such as from {@link #runAll}, part 2 is forked into that pool; on any other thread both
+     * parts are solved inline so that nothing escapes to the common pool.
+     */
+    public static <T> Report run(final Solver<T> solver, final MappedInput input){
+        final long parseStart = System.nanoTime();
+        final T parsed = solver.parse(input);
+        final long parseNanos = System.nanoTime() - parseStart;
+
+        final Timed part1;
+        final Timed part2Result;
+        if(ForkJoinTask.inForkJoinPool()){
+            final ForkJoinTask<Timed> part2 = ForkJoinTask.adapt(() -> time(() -> solver.solvePart2(parsed))).fork();
+            part1 = time(() -> solver.solvePart1(parsed));
+            part2Result = part2.join();
+        } else {
+            part1 = time(() -> solver.solvePart1(parsed));
+            part2Result = time(() -> solver.solvePart2(parsed));
+        }
+
+        Metrics.phase(solver.getDay(), "parse", parseNanos);
+        Metrics.phase(solver.getDay(), "part1", part1.nanos);
+        Metrics.phase(solver.getDay(), "part2", part2Result.nanos);
+
+        return new Report(solver.getDay(), part1.result, part2Result.result,
+                parseNanos, part1.nanos, part2Result.nanos);
+    }
+
+    /**
+     * Solves every input file as its own task, which runs on a virtual thread when the
+     * multi-release JAR is used on JDK 25 or later. Reports are returned in input order.
+     */
+    public static List<Report> runEach(final Solver<?> solver, final List<Path> inputs, final ResultCache cache){
+        final ExecutorService executor = TaskExecutors.newPerTaskExecutor();
+        try {
+            final List<Future<Report>> tasks = inputs.stream()
+                    .map(input -> executor.submit(() -> run(solver, getInput(input), cache)))
+                    .collect(toList());
+
+            final List<Report> reports = new ArrayList<>();
+            for(Future<Report> task : tasks){
+                reports.add(getReport(task));
+            }
+            return reports;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public static MappedInput getInput(final Path directory, final int day){
+        return getInput(directory.resolve("Day" + day + ".txt"));
+    }
+
+    public static MappedInput getInput(final Path file){
+        try {
+            return MappedInput.map(file);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to parse file: " + file, e);
+        }
+    }
+
+    private static Report getReport(final Future<Report> task){
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while solving", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Unable to solve input", e.getCause());
+        }
+    }
+
+    private static Timed time(final Supplier<Object> solve){
+        final long start = System.nanoTime();
+        final Object result = solve.get();
+        return new Timed(result, System.nanoTime() - start);
+    }
+
+}
@@ -0,0 +1,222 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.dahlgren.advent;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Tracks the occupied seats of many flights while boarding passes keep arriving. Every flight has
+ * its own occupancy bitmap, updated with compare-and-set on single words, so threads boarding the
+ * same or different flights never block each other. Queries, including the counts, read the words
+ * directly and may run concurrently with boarding; they see every seat boarded before the query
+ * started. Flights are kept until they are {@link #remove(String) removed}.
+ */
+public final class SeatAllocationService {
+
+    private static final class Flight {
+
+        private final AtomicLongArray words;
+
+        private Flight(final int seatCount) {
+            this.words = new AtomicLongArray((seatCount + 63) >>> 6);
+        }
+
+        private boolean occupy(final int id) {
+            final long bit = 1L << id;
+            final long previous = words.getAndAccumulate(id >>> 6, bit, (word, value) -> word | value);
+            return (previous & bit) == 0;
+        }
+
+        private int getOccupiedCount() {
+            int count = 0;
+            for(int word = 0; word < words.length(); word++){
+                count += Long.bitCount(words.get(word));
+            }
+            return count;
+        }
+
+        private int getHighestOccupied() {
+            for(int word = words.length() - 1; word >= 0; word--){
+                final long bits = words.get(word);
+                if(bits != 0){
+                    return (word << 6) + 63 - Long.numberOfLeadingZeros(bits);
+                }
+            }
+            return -1;
+        }
+
+    }
+
+    private static final class IntCollector implements IntConsumer {
+
+        private int[] values = new int[16];
+        private int size;
+
+        @Override
+        public void accept(final int value) {
+            if(size == values.length){
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+
+    }
+
+    private final SeatDecoder decoder;
+    private final ConcurrentMap<String, Flight> flights = new ConcurrentHashMap<>();
+
+    public SeatAllocationService() {
+        this(SeatDecoder.DEFAULT);
+    }
+
+    public SeatAllocationService(final SeatDecoder decoder) {
+        this.decoder = Objects.requireNonNull(decoder);
+    }
+
+    public SeatDecoder getDecoder() {
+        return decoder;
+    }
+
+    /**
+     * Occupies the seat of the boarding pass, and returns false if it was already occupied.
+     */
+    public boolean board(final String flight, final CharSequence boardingPass) {
+        return board(flight, decoder.decode(boardingPass));
+    }
+
+    /**
+     * Occupies the seat with the given id, and returns false if it was already occupied.
+     */
+    public boolean board(final String flight, final int id) {
+        if(id < 0 || id >= decoder.getSeatCount()){
+            throw new IllegalArgumentException("Invalid seat id " + id + " for flight " + flight);
+        }
+        return getOrCreate(flight).occupy(id);
+    }
+
+    /**
+     * Occupies the seats of the boarding passes between the position and the limit of the buffer,
+     * one per line, and returns the number of seats which were not occupied before.
+     */
+    public int board(final String flight, final ByteBuffer boardingPasses) {
+        final Flight seats = getOrCreate(flight);
+        final int[] boarded = new int[1];
+        decoder.decodeAll(boardingPasses, id -> {
+            if(seats.occupy(id)){
+                boarded[0]++;
+            }
+        });
+        return boarded[0];
+    }
+
+    public Set<String> getFlights() {
+        return Collections.unmodifiableSet(flights.keySet());
+    }
+
+    /**
+     * Stops tracking the flight, and returns false if it was not tracked. Seats boarded concurrently
+     * with the removal may be lost, and boarding the flight again starts from an empty flight.
+     */
+    public boolean remove(final String flight) {
+        return flights.remove(flight) != null;
+    }
+
+    public int getOccupiedCount(final String flight) {
+        final Flight seats = flights.get(flight);
+        return seats == null ? 0 : seats.getOccupiedCount();
+    }
+
+    /**
+     * Returns the highest occupied seat id of the flight, or -1 if nobody has boarded it.
+     */
+    public int getHighestOccupied(final String flight) {
+        final Flight seats = flights.get(flight);
+        return seats == null ? -1 : seats.getHighestOccupied();
+    }
+
+    /**
+     * Returns the free seats of the flight whose neighbours on both sides are occupied.
+     */
+    public int[] getGaps(final String flight) {
+        final Flight seats = flights.get(flight);
+        if(seats == null){
+            return new int[0];
+        }
+
+        final IntCollector gaps = new IntCollector();
+        final AtomicLongArray words = seats.words;
+        long previous = 0L;
+        long current = words.length() > 0 ? words.get(0) : 0L;
+        for(int word = 0; word < words.length(); word++){
+            final long next = word + 1 < words.length() ? words.get(word + 1) : 0L;
+            collect(word, SeatMap.getGaps(previous, current, next), gaps);
+            previous = current;
+            current = next;
+        }
+        return gaps.toArray();
+    }
+
+    /**
+     * Returns every free seat of the flight, in ascending order.
+     */
+    public int[] getFreeSeats(final String flight) {
+        final Flight seats = flights.get(flight);
+        final int seatCount = decoder.getSeatCount();
+        final IntCollector free = new IntCollector();
+        for(int word = 0; word < (seatCount + 63) >>> 6; word++){
+            long bits = seats == null ? -1L : ~seats.words.get(word);
+            if(word == (seatCount - 1) >>> 6){
+                bits &= -1L >>> -seatCount;
+            }
+            collect(word, bits, free);
+        }
+        return free.toArray();
+    }
+
+    private Flight getOrCreate(final String flight) {
+        final Flight seats = flights.get(flight);
+        return seats != null ? seats : flights.computeIfAbsent(flight, key -> new Flight(decoder.getSeatCount()));
+    }
+
+    private static void collect(final int word, final long bits, final IntConsumer ids) {
+        long remaining = bits;
+        while(remaining != 0){
+            ids.accept((word << 6) + Long.numberOfTrailingZeros(remaining));
+            remaining &= remaining - 1;
+        }
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.dahlgren.advent;
+
+import java.nio.ByteBuffer;
+import java.util.function.IntConsumer;
+
+/**
+ * Decodes boarding passes into seat ids. A pass is a binary number written with F and B for the
+ * row bits followed by L and R for the column bits, where F and L are 0 and B and R are 1, so the
+ * seat id {@code row * 2^columnBits + column} is the whole pass read as one number.
+ */
+public final class SeatDecoder {
+
+    /**
+     * The layout of the puzzle: 128 rows of 8 seats.
+     */
+    public static final SeatDecoder DEFAULT = new SeatDecoder(7, 3);
+
+    private static final int MAX_BITS = 30;
+
+    private final int rowBits;
+    private final int columnBits;
+
+    public SeatDecoder(final int rowBits, final int columnBits) {
+        if(rowBits < 0 || columnBits < 0 || rowBits + columnBits < 1 || rowBits + columnBits > MAX_BITS){
+            throw new IllegalArgumentException("Invalid layout: " + rowBits + " row bits, " + columnBits + " column bits");
+        }
+        this.rowBits = rowBits;
+        this.columnBits = columnBits;
+    }
+
+    public int getRowBits() {
+        return rowBits;
+    }
+
+    public int getColumnBits() {
+        return columnBits;
+    }
+
+    /**
+     * Returns the number of characters in a boarding pass.
+     */
+    public int getWidth() {
+        return rowBits + columnBits;
+    }
+
+    public int getSeatCount() {
+        return 1 << getWidth();
+    }
+
+    public int getRow(final int id) {
+        return id >>> columnBits;
+    }
+
+    public int getColumn(final int id) {
+        return id & ((1 << columnBits) - 1);
+    }
+
+    public int decode(final CharSequence pass) {
+        if(pass.length() != getWidth()){
+            throw new IllegalArgumentException("Invalid boarding pass: " + pass);
+        }
+
+        int id = 0;
+        int invalid = 0;
+        for(int index = 0; index < rowBits; index++){
+            final int character = pass.charAt(index);
+            id = (id << 1) | bit(character);
+            invalid |= (character ^ 'F') * (character ^ 'B');
+        }
+        for(int index = rowBits; index < pass.length(); index++){
+            final int character = pass.charAt(index);
+            id = (id << 1) | bit(character);
+            invalid |= (character ^ 'L') * (character ^ 'R');
+        }
+
+        if(invalid != 0){
+            throw new IllegalArgumentException("Invalid boarding pass: " + pass);
+        }
+        return id;
+    }
+
+    /**
+     * Decodes the boarding pass starting at the offset of the buffer.
+     */
+    public int decode(final ByteBuffer input, final int offset) {
+        final int width = getWidth();
+        if(offset < 0 || offset > input.limit() - width){
+            throw new IllegalArgumentException("Truncated boarding pass at offset " + offset);
+        }
+
+        int id = 0;
+        int invalid = 0;
+        for(int index = offset; index < offset + rowBits; index++){
+            final int character = input.get(index);
+            id = (id << 1) | bit(character);
+            invalid |= (character ^ 'F') * (character ^ 'B');
+        }
+        for(int index = offset + rowBits; index < offset + width; index++){
+            final int character = input.get(index);
+            id = (id << 1) | bit(character);
+            invalid |= (character ^ 'L') * (character ^ 'R');
+        }
+
+        if(invalid != 0){
+            throw new IllegalArgumentException("Invalid boarding pass at offset " + offset);
+        }
+        return id;
+    }
+
+    /**
+     * Decodes every boarding pass between the position and the limit of the buffer, one per line,
+     * and passes the seat ids to the consumer in order. Blank lines are skipped.
+     */
+    public void decodeAll(final ByteBuffer input, final IntConsumer ids) {
+        final int limit = input.limit();
+        final int width = getWidth();
+        int index = input.position();
+        while(index < limit){
+            final byte value = input.get(index);
+            if(value == '\n' || value == '\r'){
+                index++;
+                continue;
+            }
+
+            ids.accept(decode(input, index));
+            index += width;
+            if(index < limit && input.get(index) != '\n' && input.get(index) != '\r'){
+                throw new IllegalArgumentException("Expected a line break at offset " + index);
+            }
+        }
+    }
+
+    private static int bit(final int character) {
+        // B (0x42) and R (0x52) have bit 2 cleared, F (0x46) and L (0x4C) have it set
+        return (~character >>> 2) & 1;
+    }
+
+}
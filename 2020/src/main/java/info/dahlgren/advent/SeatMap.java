@@ -0,0 +1,217 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.dahlgren.advent;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * The occupied seats of a plane as one bit per seat id. Seats can be occupied and released as
+ * boarding passes arrive, and all queries scan whole 64-bit words at a time. Not thread-safe.
+ */
+public final class SeatMap {
+
+    private final long[] words;
+    private final int seatCount;
+    private int occupied;
+
+    public SeatMap(final int seatCount) {
+        if(seatCount < 0){
+            throw new IllegalArgumentException("Invalid seat count: " + seatCount);
+        }
+        this.words = new long[(seatCount + 63) >>> 6];
+        this.seatCount = seatCount;
+    }
+
+    public static SeatMap of(final SeatDecoder decoder) {
+        return new SeatMap(decoder.getSeatCount());
+    }
+
+    public int getSeatCount() {
+        return seatCount;
+    }
+
+    /**
+     * Returns the number of occupied seats.
+     */
+    public int size() {
+        return occupied;
+    }
+
+    public boolean isOccupied(final int id) {
+        Objects.checkIndex(id, seatCount);
+        return (words[id >>> 6] & (1L << id)) != 0;
+    }
+
+    /**
+     * Marks the seat as occupied, and returns false if it already was.
+     */
+    public boolean occupy(final int id) {
+        Objects.checkIndex(id, seatCount);
+        final long bit = 1L << id;
+        final long word = words[id >>> 6];
+        words[id >>> 6] = word | bit;
+        final int added = (int) ((~word & bit) >>> id);
+        occupied += added;
+        return added != 0;
+    }
+
+    /**
+     * Marks the seat as free, and returns false if it already was.
+     */
+    public boolean release(final int id) {
+        Objects.checkIndex(id, seatCount);
+        final long bit = 1L << id;
+        final long word = words[id >>> 6];
+        words[id >>> 6] = word & ~bit;
+        final int removed = (int) ((word & bit) >>> id);
+        occupied -= removed;
+        return removed != 0;
+    }
+
+    public void clear() {
+        Arrays.fill(words, 0L);
+        occupied = 0;
+    }
+
+    /**
+     * Returns the lowest occupied seat id, or -1 when every seat is free.
+     */
+    public int getLowest() {
+        return seatCount == 0 ? -1 : nextOccupied(0);
+    }
+
+    /**
+     * Returns the highest occupied seat id, or -1 when every seat is free.
+     */
+    public int getHighest() {
+        for(int word = words.length - 1; word >= 0; word--){
+            if(words[word] != 0){
+                return (word << 6) + 63 - Long.numberOfLeadingZeros(words[word]);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the first occupied seat id from the given one, inclusive, or -1 if there is none.
+     */
+    public int nextOccupied(final int from) {
+        return next(from, 0L);
+    }
+
+    /**
+     * Returns the first free seat id from the given one, inclusive, or -1 if there is none.
+     */
+    public int nextFree(final int from) {
+        return next(from, -1L);
+    }
+
+    /**
+     * Passes every free seat whose neighbours on both sides are occupied to the consumer, in
+     * ascending order.
+     */
+    public void forEachGap(final IntConsumer gaps) {
+        for(int word = 0; word < words.length; word++){
+            long candidates = getGaps(word);
+            while(candidates != 0){
+                gaps.accept((word << 6) + Long.numberOfTrailingZeros(candidates));
+                candidates &= candidates - 1;
+            }
+        }
+    }
+
+    public int[] getGaps() {
+        int count = 0;
+        for(int word = 0; word < words.length; word++){
+            count += Long.bitCount(getGaps(word));
+        }
+
+        final int[] gaps = new int[count];
+        int index = 0;
+        for(int word = 0; word < words.length; word++){
+            long candidates = getGaps(word);
+            while(candidates != 0){
+                gaps[index++] = (word << 6) + Long.numberOfTrailingZeros(candidates);
+                candidates &= candidates - 1;
+            }
+        }
+        return gaps;
+    }
+
+    /**
+     * Passes every free seat id from {@code from}, inclusive, to {@code to}, exclusive, to the consumer.
+     */
+    public void forEachFree(final int from, final int to, final IntConsumer seats) {
+        Objects.checkFromToIndex(from, to, seatCount);
+        if(from == to){
+            return;
+        }
+
+        final int last = (to - 1) >>> 6;
+        for(int word = from >>> 6; word <= last; word++){
+            long free = ~words[word];
+            if(word == from >>> 6){
+                free &= -1L << from;
+            }
+            if(word == last){
+                free &= -1L >>> -to;
+            }
+            while(free != 0){
+                seats.accept((word << 6) + Long.numberOfTrailingZeros(free));
+                free &= free - 1;
+            }
+        }
+    }
+
+    private long getGaps(final int word) {
+        return getGaps(word > 0 ? words[word - 1] : 0L, words[word], word + 1 < words.length ? words[word + 1] : 0L);
+    }
+
+    /**
+     * Finds the gaps of a word by shifting the occupied bits one seat in each direction,
+     * carrying the edge bits over from the adjacent words.
+     */
+    static long getGaps(final long previous, final long current, final long next) {
+        return ~current & ((current << 1) | (previous >>> 63)) & ((current >>> 1) | (next << 63));
+    }
+
+    private int next(final int from, final long flip) {
+        Objects.checkIndex(from, seatCount);
+        int word = from >>> 6;
+        long bits = (words[word] ^ flip) & (-1L << from);
+        while(true){
+            if(bits != 0){
+                final int id = (word << 6) + Long.numberOfTrailingZeros(bits);
+                return id < seatCount ? id : -1;
+            }
+            if(++word == words.length){
+                return -1;
+            }
+            bits = words[word] ^ flip;
+        }
+    }
+
+}
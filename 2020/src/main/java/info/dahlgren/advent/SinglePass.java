@@ -0,0 +1,55 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package info.dahlgren.advent;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The input of a puzzle whose answers to both parts come out of one pass over the bytes. Parsing
+ * only takes the buffer, and the pass runs once, in whichever part is solved first, so that it is
+ * timed as solving rather than parsing.
+ */
+public final class SinglePass {
+
+    private final ByteBuffer input;
+    private final Function<ByteBuffer, Answers> pass;
+    private Answers answers;
+
+    public SinglePass(final ByteBuffer input, final Function<ByteBuffer, Answers> pass) {
+        this.input = Objects.requireNonNull(input);
+        this.pass = Objects.requireNonNull(pass);
+    }
+
+    public synchronized Answers getAnswers() {
+        if(answers == null){
+            answers = pass.apply(input);
+        }
+        return answers;
+    }
+
+}
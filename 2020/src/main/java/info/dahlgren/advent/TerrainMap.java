@@ -0,0 +1,221 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package info.dahlgren.advent;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A rectangular map of open squares and trees, stored as one bit per square. Every row occupies
+ * the same number of 64-bit words, laid out back to back in a single array.
+ */
+public final class TerrainMap {
+
+    private static final byte TREE = '#';
+    private static final byte OPEN = '.';
+
+    private final long[] words;
+    private final int width;
+    private final int height;
+    private final int stride;
+
+    private TerrainMap(final long[] words, final int width, final int height) {
+        this.words = words;
+        this.width = width;
+        this.height = height;
+        this.stride = getStride(width);
+    }
+
+    public static TerrainMap of(final String[] terrain) {
+        if(terrain.length == 0){
+            return new TerrainMap(new long[0], 0, 0);
+        }
+
+        final int width = getWidth(terrain[0].length());
+        final int stride = getStride(width);
+        final long[] words = new long[Math.multiplyExact(stride, terrain.length)];
+        for(int row = 0; row < terrain.length; row++){
+            final String line = terrain[row];
+            if(line.length() != width){
+                throw new IllegalArgumentException("Expected a row of width " + width + ": " + line);
+            }
+            for(int column = 0; column < width; column++){
+                if(parseSquare(line.charAt(column), row, column)){
+                    words[row * stride + (column >>> 6)] |= 1L << column;
+                }
+            }
+        }
+        return new TerrainMap(words, width, terrain.length);
+    }
+
+    public static TerrainMap load(final MappedInput input) {
+        return load(input.getBuffer());
+    }
+
+    /**
+     * Packs the rows between the position and the limit of the buffer without decoding them into
+     * Strings. Rows end with a line feed, optionally preceded by a carriage return.
+     */
+    public static TerrainMap load(final ByteBuffer input) {
+        final int limit = input.limit();
+        int index = input.position();
+        int width = -1;
+        int stride = 0;
+        int height = 0;
+        long[] words = new long[0];
+        while(index < limit){
+            int end = index;
+            while(end < limit && input.get(end) != '\n'){
+                end++;
+            }
+            final int next = end + 1;
+            if(end > index && input.get(end - 1) == '\r'){
+                end--;
+            }
+
+            if(end == index){
+                // Only trailing blank lines are allowed
+                for(int rest = next; rest < limit; rest++){
+                    if(input.get(rest) != '\n' && input.get(rest) != '\r'){
+                        throw new IllegalArgumentException("Blank terrain row at offset " + index);
+                    }
+                }
+                break;
+            }
+
+            if(width < 0){
+                width = getWidth(end - index);
+                stride = getStride(width);
+                words = new long[stride * 64];
+            } else if(end - index != width){
+                throw new IllegalArgumentException("Expected a row of width " + width + " at offset " + index);
+            }
+
+            if((height + 1) * (long) stride > words.length){
+                words = Arrays.copyOf(words, Math.multiplyExact(words.length, 2));
+            }
+
+            final int base = height * stride;
+            for(int column = 0; column < width; column++){
+                if(parseSquare((char) input.get(index + column), height, column)){
+                    words[base + (column >>> 6)] |= 1L << column;
+                }
+            }
+
+            height++;
+            index = next;
+        }
+
+        return width < 0 ?
+                new TerrainMap(new long[0], 0, 0) :
+                new TerrainMap(Arrays.copyOf(words, height * stride), width, height);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public boolean isTree(final int row, final int column) {
+        Objects.checkIndex(row, height);
+        Objects.checkIndex(column, width);
+        return (words[row * stride + (column >>> 6)] & (1L << column)) != 0;
+    }
+
+    public int countTrees(final int row) {
+        return countTrees(row, 0, width);
+    }
+
+    /**
+     * Counts the trees in the given row from the column {@code from}, inclusive, to the column
+     * {@code to}, exclusive.
+     */
+    public int countTrees(final int row, final int from, final int to) {
+        Objects.checkIndex(row, height);
+        Objects.checkFromToIndex(from, to, width);
+        if(from == to){
+            return 0;
+        }
+
+        final int base = row * stride;
+        final int first = base + (from >>> 6);
+        final int last = base + ((to - 1) >>> 6);
+        final long firstMask = -1L << from;
+        final long lastMask = -1L >>> -to;
+        if(first == last){
+            return Long.bitCount(words[first] & firstMask & lastMask);
+        }
+
+        int count = Long.bitCount(words[first] & firstMask);
+        for(int word = first + 1; word < last; word++){
+            count += Long.bitCount(words[word]);
+        }
+        return count + Long.bitCount(words[last] & lastMask);
+    }
+
+    public long countTrees() {
+        long count = 0;
+        for(final long word : words){
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the packed bits of all rows. Bit {@code column % 64} of the word at
+     * {@code getOffset(row) + column / 64} is set for every tree. The array is shared and must not be modified.
+     */
+    long[] getWords() {
+        return words;
+    }
+
+    int getOffset(final int row) {
+        return row * stride;
+    }
+
+    private static boolean parseSquare(final char square, final int row, final int column) {
+        if(square == TREE){
+            return true;
+        } else if(square == OPEN){
+            return false;
+        }
+        throw new IllegalArgumentException("Invalid square '" + square + "' at row " + row + ", column " + column);
+    }
+
+    private static int getWidth(final int width) {
+        if(width == 0){
+            throw new IllegalArgumentException("Empty terrain row");
+        }
+        return width;
+    }
+
+    private static int getStride(final int width) {
+        return (width + 63) >>> 6;
+    }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.lang.foreign.MemorySegment;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Counts bytes with the incubating Vector API. Loaded by {@link ByteCounts} only when the
+ * {@code jdk.incubator.vector} module is present.
+ */
+final class VectorByteCounter implements ByteCounts.Counter {
+
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    VectorByteCounter() {
+
+    }
+
+    @Override
+    public int count(final ByteBuffer buffer, final int from, final int to, final byte value) {
+        // Absolute offsets are relative to the start of the buffer, not to its position
+        final MemorySegment segment = MemorySegment.ofBuffer(buffer.duplicate().clear());
+        final ByteVector target = ByteVector.broadcast(SPECIES, value);
+        final int bound = from + SPECIES.loopBound(to - from);
+
+        int count = 0;
+        int index = from;
+        for(; index < bound; index += SPECIES.length()){
+            count += ByteVector.fromMemorySegment(SPECIES, segment, index, ByteOrder.nativeOrder())
+                    .eq(target)
+                    .trueCount();
+        }
+        for(; index < to; index++){
+            if(buffer.get(index) == value){
+                count++;
+            }
+        }
+        return count;
+    }
+
+}
@@ -0,0 +1,105 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Batch - Directory")
+    void testDirectory() throws IOException {
+        Files.copy(Path.of("src/test/resources", "Day1.txt"), directory.resolve("Day1.txt"));
+        Files.copy(Path.of("src/test/resources", "Day6.txt"), directory.resolve("Day6-submission.txt"));
+        Files.writeString(directory.resolve("notes.txt"), "ignored");
+
+        final List<Batch.Job> jobs = Batch.getJobs(directory);
+        assertEquals(4, jobs.size());
+
+        final List<String> lines = run(jobs);
+        assertEquals(4, lines.size());
+        assertTrue(lines.stream().anyMatch(line -> line.contains("\"day\":1,\"part\":2,") && line.contains("\"result\":\"281473080\"")));
+        assertTrue(lines.stream().anyMatch(line -> line.contains("\"day\":6,\"part\":1,") && line.contains("\"result\":\"6778\"")));
+    }
+
+    @Test
+    @DisplayName("Batch - Manifest")
+    void testManifest() throws IOException {
+        Files.copy(Path.of("src/test/resources", "Day5.txt"), directory.resolve("Day5.txt"));
+        final Path manifest = directory.resolve("jobs.txt");
+        Files.writeString(manifest, "# day part file\n5 1 Day5.txt\n5,2,Day5.txt\n\n7 1 missing.txt\n");
+
+        final List<Batch.Job> jobs = Batch.getJobs(manifest);
+        assertEquals(3, jobs.size());
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertFalse(Batch.run(jobs, 2, new PrintStream(output, true, StandardCharsets.UTF_8)));
+        final List<String> lines = Arrays.asList(output.toString(StandardCharsets.UTF_8).split("\n"));
+        assertEquals(3, lines.size());
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("{\"day\":5,\"part\":1,") && line.contains("\"result\":\"922\"")));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("{\"day\":5,\"part\":2,") && line.contains("\"result\":\"747\"")));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("{\"day\":7,\"part\":1,") && line.contains("\"error\":")));
+    }
+
+    @Test
+    @DisplayName("Batch - Error")
+    void testError() throws IOException {
+        final Path input = directory.resolve("Day7.txt");
+        Files.writeString(input, "shiny gold bags contain 1 shiny gold bag.\n");
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertFalse(Batch.run(List.of(new Batch.Job(7, 1, input), new Batch.Job(7, 2, input)), 1,
+                new PrintStream(output, true, StandardCharsets.UTF_8)));
+        final List<String> lines = Arrays.asList(output.toString(StandardCharsets.UTF_8).split("\n"));
+        assertEquals(2, lines.size());
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("{\"day\":7,\"part\":1,") && line.contains("\"result\":\"1\"")));
+        assertTrue(lines.stream().anyMatch(line -> line.startsWith("{\"day\":7,\"part\":2,") && line.contains("\"error\":\"java.lang.StackOverflowError\"")));
+    }
+
+    private static List<String> run(final List<Batch.Job> jobs){
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertTrue(Batch.run(jobs, 2, new PrintStream(output, true, StandardCharsets.UTF_8)));
+        return Arrays.asList(output.toString(StandardCharsets.UTF_8).split("\n"));
+    }
+
+}
@@ -43,7 +43,7 @@ class Day13Test {
     @Test
     @DisplayName("Day 13 - Part 2")
     void testPart2(){
-        final long result = Day13.executePart2(INPUT[1]);
+        final long result = (long) Utility.solve(new Day13Solver(), 2, "Day13.txt");
         assertEquals(534035653563227L, result);
     }
 
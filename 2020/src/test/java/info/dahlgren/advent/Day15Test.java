@@ -49,7 +49,7 @@ class Day15Test {
     @Test
     @DisplayName("Day 15 - Part 2")
     void testPart2(){
-        final long result = Day15.execute(NUMBERS, 30000000);
+        final long result = (int) Utility.solve(new Day15Solver(), 2, "Day15.txt");
         assertEquals(3745954L, result);
     }
 
@@ -27,11 +27,20 @@ package info.dahlgren.advent;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class Day1Test {
@@ -102,4 +111,115 @@ class Day1Test {
         assertFalse(result.isPresent());
     }
 
+    @Test
+    @DisplayName("December 1: Part 2 - Parallel")
+    void testPart2Parallel(){
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(Optional.of(281473080), Day1.executePart2(NUMBERS, pool));
+            assertTrue(Day1.executePart2(new int[] { 1000, 20 }, pool).isEmpty());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("December 1: Part 2 - All triples")
+    void testPart2AllTriples(){
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final Set<List<Integer>> triples = ConcurrentHashMap.newKeySet();
+            final int[] numbers = new int[] { 1000, 1010, 10, 1010, 0, 500, 520, 1000, 2010, 20 };
+            Day1.executePart2(numbers, pool, (first, second, third) -> triples.add(List.of(first, second, third)));
+
+            assertEquals(Set.of(List.of(0, 10, 2010), List.of(0, 1010, 1010), List.of(10, 1000, 1010),
+                    List.of(20, 1000, 1000), List.of(500, 520, 1000)), triples);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("December 1: k-SUM")
+    void testKSum(){
+        assertEquals(Optional.of(864864L), Day1.execute(NUMBERS, 2020, 2));
+        assertEquals(Optional.of(281473080L), Day1.execute(NUMBERS, 2020, 3));
+        assertEquals(Optional.of(24L), Day1.execute(new int[] { 4, 1, 3, 2 }, 10, 4));
+        assertEquals(Optional.of(120L), Day1.execute(new int[] { 5, 9, 4, 1, 3, 2 }, 15, 5));
+        assertTrue(Day1.execute(new int[] { 5, 5, 5 }, 20, 4).isEmpty());
+        assertTrue(Day1.execute(new int[] { 1, 2, 3 }, 6, 1).isEmpty());
+    }
+
+    @Test
+    @DisplayName("December 1: k-SUM - Random")
+    void testKSumRandom(){
+        final Random random = new Random(2020);
+        for(int round = 0; round < 200; round++){
+            final int[] numbers = random.ints(2 + random.nextInt(10), -20, 50).toArray();
+            final int target = random.nextInt(120) - 20;
+            for(int k = 1; k <= 6; k++){
+                assertTuple(numbers, target, k);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("December 1: k-SUM - Bounded values")
+    void testKSumBounded(){
+        final Random random = new Random(2021);
+        for(int round = 0; round < 500; round++){
+            final int target = random.nextInt(60);
+            final int[] numbers = random.ints(1 + random.nextInt(8), 0, target + 1).toArray();
+            for(int k = 1; k <= 3; k++){
+                assertTuple(numbers, target, k);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("December 1: k-SUM - Map")
+    void testMap(){
+        final IntIntMap map = new IntIntMap(1);
+        for(int key = 0; key < 1000; key++){
+            map.put(key * 7919, key);
+        }
+        assertEquals(1000, map.size());
+        assertEquals(999, map.getOrDefault(999 * 7919, -1));
+        assertEquals(-1, map.getOrDefault(1, -1));
+        assertThrows(IllegalArgumentException.class, () -> new IntIntMap(Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> new IntIntMap((1 << 29) + 1));
+    }
+
+    /**
+     * Compares the entries found by k-SUM with every k-tuple at distinct positions that adds up to the target.
+     */
+    private static void assertTuple(final int[] numbers, final int target, final int k){
+        final Set<List<Integer>> expected = new HashSet<>();
+        addTuples(numbers, 0, target, k, new ArrayList<>(), expected);
+
+        final Optional<int[]> entries = KSum.find(numbers, target, k);
+        assertEquals(!expected.isEmpty(), entries.isPresent());
+        entries.ifPresent(values -> {
+            final List<Integer> tuple = Arrays.stream(values).boxed().collect(Collectors.toList());
+            assertTrue(expected.contains(tuple), tuple + " is not one of " + expected);
+        });
+    }
+
+    private static void addTuples(final int[] numbers, final int from, final long target, final int k,
+                                  final List<Integer> tuple, final Set<List<Integer>> tuples){
+        if(k == 0){
+            if(target == 0){
+                final List<Integer> sorted = new ArrayList<>(tuple);
+                sorted.sort(null);
+                tuples.add(sorted);
+            }
+            return;
+        }
+        for(int index = from; index < numbers.length; index++){
+            tuple.add(numbers[index]);
+            addTuples(numbers, index + 1, target - numbers[index], k - 1, tuple, tuples);
+            tuple.remove(tuple.size() - 1);
+        }
+    }
+
 }
@@ -27,7 +27,15 @@ package info.dahlgren.advent;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class Day2Test {
 
@@ -47,4 +55,74 @@ class Day2Test {
         assertEquals(249, result);
     }
 
+    @Test
+    @DisplayName("Day 2 - Part 1 - Streaming")
+    void testPart1Streaming() throws IOException {
+        try(InputStream input = Utility.openFile("Day2.txt")) {
+            final long result = Day2.executePar1(input);
+            assertEquals(447, result);
+        }
+    }
+
+    @Test
+    @DisplayName("Day 2 - Part 2 - Streaming")
+    void testPart2Streaming() throws IOException {
+        try(InputStream input = Utility.openFile("Day2.txt")) {
+            final long result = Day2.executePar2(input);
+            assertEquals(249, result);
+        }
+    }
+
+    @Test
+    @DisplayName("Day 2 - Bytes")
+    void testBytes(){
+        assertEquals(new Answers(447, 249), Day2.execute(Utility.mapFile("Day2.txt")));
+    }
+
+    @Test
+    @DisplayName("Day 2 - Bytes - Line endings")
+    void testBytesLineEndings(){
+        final ByteBuffer input = ByteBuffer.wrap("1-3 a: abcde\r\n1-3 b: cdefg\r\n\r\n2-9 c: ccccccccc".getBytes(StandardCharsets.US_ASCII));
+        assertEquals(new Answers(2, 1), Day2.execute(input));
+    }
+
+    @Test
+    @DisplayName("Day 2 - Bytes - Invalid line")
+    void testBytesInvalidLine(){
+        final ByteBuffer input = ByteBuffer.wrap("1-3 a: abcde\n1:3 b: cdefg\n".getBytes(StandardCharsets.US_ASCII));
+        assertThrows(IllegalArgumentException.class, () -> Day2.execute(input));
+    }
+
+    @Test
+    @DisplayName("Day 2 - Parallel")
+    void testParallel() throws IOException {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertEquals(new Answers(447, 249), Day2.execute(Path.of("src", "test", "resources", "Day2.txt"), pool));
+
+            // Chunks far smaller than a line still end on a line feed
+            final ByteBuffer input = Utility.mapFile("Day2.txt").getBuffer();
+            for(final int chunkSize : new int[]{1, 7, 100, 4096}){
+                assertEquals(new Answers(447, 249), Day2.execute(input, pool, chunkSize));
+            }
+            assertEquals(new Answers(0, 0), Day2.execute(ByteBuffer.allocate(0), pool, 16));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Day 2 - Byte counts")
+    void testByteCounts(){
+        final byte[] password = new byte[1000];
+        for(int index = 0; index < password.length; index++){
+            password[index] = (byte) ('a' + index % 7);
+        }
+        final ByteBuffer input = ByteBuffer.wrap(password);
+
+        assertEquals(143, ByteCounts.count(input, 0, password.length, (byte) 'a'));
+        assertEquals(ByteCounts.countScalar(input, 3, 997, (byte) 'c'), ByteCounts.count(input, 3, 997, (byte) 'c'));
+        assertEquals(0, ByteCounts.count(input, 10, 10, (byte) 'a'));
+    }
+
 }
@@ -27,7 +27,13 @@ package info.dahlgren.advent;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class Day3Test {
 
@@ -52,4 +58,87 @@ class Day3Test {
         assertEquals(2265549792L, sum1 * sum2 * sum3 * sum4 * sum5);
     }
 
+    @Test
+    @DisplayName("Day 3 - Multiple slopes")
+    void testSlopes(){
+        final Day3.Trees trees = Day3.execute(TERRAIN,
+                new Day3.Slope(1, 1),
+                new Day3.Slope(1, 3),
+                new Day3.Slope(1, 5),
+                new Day3.Slope(1, 7),
+                new Day3.Slope(2, 1));
+        assertEquals(242, trees.getCount(1));
+        assertEquals(2265549792L, trees.getProduct());
+
+        // Steps wider than the terrain and rows which no slope lands on
+        final int width = TERRAIN[0].length();
+        final long[] expected = new long[]{
+                Day3.execute(TERRAIN, 1, width * 3 + 2),
+                Day3.execute(TERRAIN, 7, 0),
+                Day3.execute(TERRAIN, TERRAIN.length + 1, 4)
+        };
+        assertArrayEquals(expected, Day3.execute(TERRAIN,
+                new Day3.Slope(1, width * 3 + 2),
+                new Day3.Slope(7, 0),
+                new Day3.Slope(TERRAIN.length + 1, 4)).getCounts());
+        assertThrows(IllegalArgumentException.class, () -> new Day3.Slope(0, 1));
+    }
+
+    @Test
+    @DisplayName("Day 3 - Terrain map")
+    void testTerrainMap(){
+        final TerrainMap map = TerrainMap.load(Utility.mapFile("Day3.txt"));
+        assertEquals(TERRAIN.length, map.getHeight());
+        assertEquals(TERRAIN[0].length(), map.getWidth());
+        assertEquals(2265549792L, Day3.execute(map,
+                new Day3.Slope(1, 1),
+                new Day3.Slope(1, 3),
+                new Day3.Slope(1, 5),
+                new Day3.Slope(1, 7),
+                new Day3.Slope(2, 1)).getProduct());
+
+        long total = 0;
+        for(int row = 0; row < TERRAIN.length; row++){
+            for(int column = 0; column < TERRAIN[row].length(); column++){
+                assertEquals(TERRAIN[row].charAt(column) == '#', map.isTree(row, column));
+                total += TERRAIN[row].charAt(column) == '#' ? 1 : 0;
+            }
+            assertEquals(TERRAIN[row].chars().filter(square -> square == '#').count(), map.countTrees(row));
+        }
+        assertEquals(total, map.countTrees());
+    }
+
+    @Test
+    @DisplayName("Day 3 - Terrain map - Ranges")
+    void testTerrainMapRanges(){
+        // Rows spanning several words, with a carriage return and a trailing blank line
+        final StringBuilder builder = new StringBuilder();
+        final String[] rows = new String[3];
+        for(int row = 0; row < rows.length; row++){
+            final StringBuilder line = new StringBuilder();
+            for(int column = 0; column < 150; column++){
+                line.append((column * 7 + row) % 3 == 0 ? '#' : '.');
+            }
+            rows[row] = line.toString();
+            builder.append(line).append(row == 1 ? "\r\n" : "\n");
+        }
+        builder.append('\n');
+
+        final TerrainMap map = TerrainMap.load(ByteBuffer.wrap(builder.toString().getBytes(StandardCharsets.US_ASCII)));
+        assertEquals(3, map.getHeight());
+        assertEquals(150, map.getWidth());
+        for(int row = 0; row < rows.length; row++){
+            for(final int[] range : new int[][]{{0, 150}, {0, 0}, {5, 6}, {1, 63}, {63, 65}, {10, 140}, {64, 128}, {127, 150}}){
+                final long expected = rows[row].substring(range[0], range[1]).chars().filter(square -> square == '#').count();
+                assertEquals(expected, map.countTrees(row, range[0], range[1]));
+            }
+        }
+        assertFalse(map.isTree(0, 149));
+        assertEquals(0, TerrainMap.of(new String[0]).getHeight());
+        assertThrows(IllegalArgumentException.class, () -> TerrainMap.of(new String[]{"#..", "#."}));
+        assertThrows(IllegalArgumentException.class, () -> TerrainMap.of(new String[]{"#.x"}));
+        assertThrows(IllegalArgumentException.class,
+                () -> TerrainMap.load(ByteBuffer.wrap("#.\n\n.#\n".getBytes(StandardCharsets.US_ASCII))));
+    }
+
 }
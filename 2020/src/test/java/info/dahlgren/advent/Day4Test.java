@@ -27,7 +27,15 @@ package info.dahlgren.advent;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class Day4Test {
 
@@ -47,4 +55,179 @@ public class Day4Test {
         assertEquals(101, result);
     }
 
+    @Test
+    @DisplayName("Day 4 - Part 1 - Streaming")
+    void testPart1Streaming() throws IOException {
+        try(InputStream input = Utility.openFile("Day4.txt")) {
+            final int result = Day4.executePart1(input);
+            assertEquals(192, result);
+        }
+    }
+
+    @Test
+    @DisplayName("Day 4 - Part 2 - Streaming")
+    void testPart2Streaming() throws IOException {
+        try(InputStream input = Utility.openFile("Day4.txt")) {
+            final int result = Day4.executePart2(input);
+            assertEquals(101, result);
+        }
+    }
+
+    @Test
+    @DisplayName("Day 4 - Bytes")
+    void testBytes(){
+        assertEquals(new Answers(192, 101), Day4.execute(Utility.mapFile("Day4.txt")));
+
+        // Blank lines with carriage returns, repeated fields and a passport without a trailing line feed
+        final ByteBuffer passports = bytes("ecl:gry pid:860033327 eyr:2020 hcl:#fffffd\r\n" +
+                "byr:1937 iyr:2017 cid:147 hgt:183cm\r\n \r\n\r\n" +
+                "hcl:#ae17e1 iyr:2013 eyr:2024 ecl:brn pid:760753108 byr:1931 hgt:179cm hgt:59cm\n" +
+                "\n" +
+                "hcl:#cfa07d eyr:2025 pid:166559648 iyr:2011 ecl:brn hgt:59in");
+        assertEquals(new Answers(2, 1), Day4.execute(passports));
+        assertEquals(new Answers(0, 0), Day4.execute(bytes("\n\n")));
+        assertThrows(IllegalArgumentException.class, () -> Day4.execute(bytes("byr:1937 iyr\n")));
+    }
+
+    @Test
+    @DisplayName("Day 4 - Schema")
+    void testSchema(){
+        for(int index = 0; index < Day4.FIELDS.length; index++){
+            assertEquals(Day4.FIELDS[index], Day4.VALID_FIELDS.getField(index).getName());
+            assertEquals(Day4.FIELDS[index], Day4.REQUIRED_FIELDS.getField(index).getName());
+        }
+
+        final MappedInput input = Utility.mapFile("Day4.txt");
+        assertEquals(192, Day4.execute(input, Day4.REQUIRED_FIELDS));
+        assertEquals(101, Day4.execute(input, Day4.VALID_FIELDS));
+
+        final ByteBuffer passports = bytes("ecl:gry pid:860033327 eyr:2020 hcl:#fffffd\r\n" +
+                "byr:1937 iyr:2017 cid:147 hgt:183cm\r\n\r\n\r\n" +
+                "hcl:#ae17e1 iyr:2013 eyr:2024 ecl:brn pid:760753108 byr:1931 hgt:179cm\n" +
+                "\n" +
+                "hcl:#cfa07d eyr:2025 pid:166559648 iyr:2011 ecl:brn hgt:59in\n");
+        assertEquals(2, Day4.execute(passports, Day4.REQUIRED_FIELDS));
+        assertEquals(2, Day4.execute(passports, Day4.VALID_FIELDS));
+
+        // A line of only whitespace separates passports in both paths
+        final ByteBuffer spaced = bytes("hcl:#ae17e1 iyr:2013 eyr:2024 ecl:brn pid:760753108 byr:1931 hgt:179cm\n" +
+                " \t\n" +
+                "hcl:#cfa07d eyr:2025 pid:166559648 iyr:2011 ecl:brn hgt:59in byr:1931 foo:1\n");
+        assertEquals(new Answers(2, 2), Day4.execute(spaced.duplicate()));
+        assertEquals(2, Day4.execute(spaced.duplicate(), Day4.VALID_FIELDS));
+        assertEquals(1, Day4.execute(spaced.duplicate(), PassportSchema.of(PassportSchema.Field.range("foo", 0, 9))));
+        assertThrows(IllegalArgumentException.class, () -> Day4.execute(bytes("byr:1937 iyr\n"), Day4.REQUIRED_FIELDS));
+    }
+
+    @Test
+    @DisplayName("Day 4 - Schema - Rules")
+    void testSchemaRules(){
+        final PassportSchema schema = PassportSchema.of(
+                PassportSchema.Field.range("yr", 1920, 2002),
+                PassportSchema.Field.measure("hgt",
+                        new PassportSchema.Unit("cm", 150, 193),
+                        new PassportSchema.Unit("in", 59, 76)),
+                PassportSchema.Field.pattern("hcl", "#[0-9a-f]{6}"),
+                PassportSchema.Field.pattern("id", "[A-Z]{2,3}-?[0-9]+x*"),
+                PassportSchema.Field.oneOf("ecl", "amb", "blu"),
+                PassportSchema.Field.optional("cid"));
+
+        assertTrue(isValid(schema, "yr", "2002"));
+        assertTrue(isValid(schema, "yr", "01920"));
+        assertFalse(isValid(schema, "yr", "2003"));
+        assertFalse(isValid(schema, "yr", "19x0"));
+        assertFalse(isValid(schema, "yr", ""));
+        assertFalse(isValid(schema, "yr", "99999999999999999999999999"));
+
+        assertTrue(isValid(schema, "hgt", "60in"));
+        assertTrue(isValid(schema, "hgt", "150cm"));
+        assertFalse(isValid(schema, "hgt", "190in"));
+        assertFalse(isValid(schema, "hgt", "cm"));
+        assertFalse(isValid(schema, "hgt", "190"));
+
+        assertTrue(isValid(schema, "hcl", "#123abc"));
+        assertFalse(isValid(schema, "hcl", "#123abz"));
+        assertFalse(isValid(schema, "hcl", "123abc"));
+        assertFalse(isValid(schema, "hcl", "#123abcd"));
+
+        assertTrue(isValid(schema, "id", "AB-1"));
+        assertTrue(isValid(schema, "id", "ABC123xx"));
+        assertFalse(isValid(schema, "id", "A-1"));
+        assertFalse(isValid(schema, "id", "ABCD-1"));
+        assertFalse(isValid(schema, "id", "AB-"));
+        assertFalse(isValid(schema, "id", "AB--1"));
+
+        assertTrue(isValid(schema, "ecl", "blu"));
+        assertFalse(isValid(schema, "ecl", "bl"));
+        assertEquals(-1, schema.indexOf(bytes("xyz"), 0, 3));
+
+        final String valid = "yr:1990 hgt:170cm hcl:#abcdef id:AB1 ecl:amb";
+        assertEquals(1, Day4.execute(bytes(valid), schema));
+        assertEquals(1, Day4.execute(bytes(valid + " cid:1 foo:bar"), schema));
+        assertEquals(0, Day4.execute(bytes(valid + " yr:1900"), schema));
+        assertEquals(0, Day4.execute(bytes("yr:1990"), schema));
+        assertThrows(IllegalArgumentException.class, () -> Day4.execute(bytes(valid + " cid"), schema));
+
+        assertThrows(IllegalArgumentException.class, () -> PassportSchema.Field.pattern("x", "[a-"));
+        assertThrows(IllegalArgumentException.class, () -> PassportSchema.Field.pattern("x", "a{3,1}"));
+        assertThrows(IllegalArgumentException.class,
+                () -> PassportSchema.of(PassportSchema.Field.present("a"), PassportSchema.Field.optional("a")));
+    }
+
+    @Test
+    @DisplayName("Day 4 - Table")
+    void testTable(){
+        final PassportTable table = PassportTable.load(Utility.mapFile("Day4.txt"));
+        assertEquals(192, table.count(Day4.REQUIRED_FIELDS));
+        assertEquals(101, table.count(Day4.VALID_FIELDS));
+
+        // Every rule kind over every column has to agree with validating the text directly
+        final String passports = "byr:1937 iyr:2017 eyr:2020 hgt:183cm hcl:#fffffd ecl:gry pid:860033327\n" +
+                "\n" +
+                "byr:01937 iyr:2017 eyr:2020 hgt:72in hcl:#fffffd ecl:gry pid:000000001 cid:1\n" +
+                "\n" +
+                "byr:1937 iyr:2017 eyr:2020 hgt:72 hcl:fffffd ecl:xry pid:86003332\n" +
+                "\n" +
+                "byr:1937cm iyr:x eyr:2020 hgt:0cm hcl:#fffffd ecl:gry pid:860033327 hgt:150cm\n" +
+                "\n" +
+                "byr:99999999999 hgt:1234567890in";
+        final PassportTable sample = PassportTable.load(bytes(passports));
+        assertEquals(5, sample.size());
+
+        final PassportSchema[] schemas = {
+                Day4.REQUIRED_FIELDS,
+                Day4.VALID_FIELDS,
+                PassportSchema.of(
+                        PassportSchema.Field.range("byr", -5, 99999999999L),
+                        PassportSchema.Field.measure("hgt",
+                                new PassportSchema.Unit("", 0, 100),
+                                new PassportSchema.Unit("cm", 0, 200))),
+                PassportSchema.of(
+                        PassportSchema.Field.pattern("byr", "0?[0-9]{4}"),
+                        PassportSchema.Field.measure("hgt", new PassportSchema.Unit("0cm", 0, 100)),
+                        PassportSchema.Field.oneOf("ecl", "gry", "xry"),
+                        PassportSchema.Field.present("cid")),
+                PassportSchema.of(PassportSchema.Field.present("xyz"))
+        };
+        final String[] records = passports.split("\n\n");
+        for(final PassportSchema schema : schemas){
+            final long[] valid = sample.validate(schema);
+            for(int row = 0; row < records.length; row++){
+                final ByteBuffer record = bytes(records[row]);
+                assertEquals(Day4.execute(record, schema) == 1, (valid[0] & (1L << row)) != 0,
+                        "Passport " + row);
+            }
+        }
+    }
+
+    private static boolean isValid(final PassportSchema schema, final String field, final String value){
+        final ByteBuffer input = bytes(field + ":" + value);
+        final int index = schema.indexOf(input, 0, field.length());
+        return schema.isValid(index, input, field.length() + 1, input.limit());
+    }
+
+    private static ByteBuffer bytes(final String value){
+        return ByteBuffer.wrap(value.getBytes(StandardCharsets.US_ASCII));
+    }
+
 }
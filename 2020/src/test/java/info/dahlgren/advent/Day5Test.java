@@ -27,7 +27,22 @@ package info.dahlgren.advent;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class Day5Test {
 
@@ -47,4 +62,148 @@ class Day5Test {
         assertEquals(747, result);
     }
 
+    @Test
+    @DisplayName("Day 5 - Part 1 - Streaming")
+    void testPart1Streaming() throws IOException {
+        try(InputStream input = Utility.openFile("Day5.txt")) {
+            final int result = Day5.executePart1(input);
+            assertEquals(922, result);
+        }
+    }
+
+    @Test
+    @DisplayName("Day 5 - Part 2 - Streaming")
+    void testPart2Streaming() throws IOException {
+        try(InputStream input = Utility.openFile("Day5.txt")) {
+            final int result = Day5.executePart2(input);
+            assertEquals(747, result);
+        }
+    }
+
+    @Test
+    @DisplayName("Day 5 - Bytes")
+    void testBytes(){
+        assertEquals(new Answers(922, 747), Day5.execute(Utility.mapFile("Day5.txt")));
+    }
+
+    @Test
+    @DisplayName("Day 5 - Decoder")
+    void testDecoder(){
+        for(final String pass : BOARDING_PASSES){
+            final int id = SeatDecoder.DEFAULT.decode(pass);
+            assertEquals(Day5.getSeat(pass, 0, 0, 127), SeatDecoder.DEFAULT.getRow(id));
+            assertEquals(Day5.getSeat(pass, 7, 0, 7), SeatDecoder.DEFAULT.getColumn(id));
+        }
+        assertEquals(357, SeatDecoder.DEFAULT.decode("FBFBBFFRLR"));
+
+        // 4096 rows of 16 seats
+        final SeatDecoder decoder = new SeatDecoder(12, 4);
+        final ByteBuffer input = ByteBuffer.wrap("BFFFFFFFFFFBRLLR\r\nFFFFFFFFFFFFLLLL\n".getBytes(StandardCharsets.US_ASCII));
+        assertEquals(0b1000_0000_0001_1001, decoder.decode(input, 0));
+        assertEquals(2049, decoder.getRow(decoder.decode(input, 0)));
+        assertEquals(9, decoder.getColumn(decoder.decode(input, 0)));
+        final int[] ids = new int[2];
+        final int[] count = new int[1];
+        decoder.decodeAll(input, id -> ids[count[0]++] = id);
+        assertEquals(2, count[0]);
+        assertEquals(0, ids[1]);
+
+        assertThrows(IllegalArgumentException.class, () -> SeatDecoder.DEFAULT.decode("FBFBBFFRLB"));
+        assertThrows(IllegalArgumentException.class, () -> SeatDecoder.DEFAULT.decode("FBFBBFFRL"));
+        assertThrows(IllegalArgumentException.class, () -> decoder.decodeAll(
+                ByteBuffer.wrap("BFFFFFFFFFFBRLLRL\n".getBytes(StandardCharsets.US_ASCII)), id -> { }));
+        assertThrows(IllegalArgumentException.class, () -> new SeatDecoder(30, 1));
+    }
+
+    @Test
+    @DisplayName("Day 5 - Seat map")
+    void testSeatMap(){
+        final SeatMap seats = new SeatMap(200);
+        assertEquals(-1, seats.getLowest());
+        assertEquals(-1, seats.getHighest());
+
+        // Gaps on both sides of word boundaries, a run of two free seats and a free seat at the edge
+        for(final int id : new int[]{1, 2, 3, 5, 6, 62, 64, 66, 67, 70, 71, 127, 129, 199}){
+            assertTrue(seats.occupy(id));
+        }
+        assertFalse(seats.occupy(64));
+        assertEquals(14, seats.size());
+        assertArrayEquals(new int[]{4, 63, 65, 128}, seats.getGaps());
+        assertEquals(1, seats.getLowest());
+        assertEquals(199, seats.getHighest());
+        assertEquals(4, seats.nextFree(1));
+        assertEquals(127, seats.nextOccupied(72));
+        assertEquals(199, seats.nextOccupied(198));
+
+        final StringBuilder free = new StringBuilder();
+        seats.forEachFree(60, 131, id -> free.append(id).append(' '));
+        assertEquals("60 61 63 65 68 69 72 ", free.substring(0, 21));
+        assertEquals("126 128 130 ", free.substring(free.length() - 12));
+
+        assertTrue(seats.release(64));
+        assertFalse(seats.release(64));
+        assertEquals(13, seats.size());
+        assertArrayEquals(new int[]{4, 128}, seats.getGaps());
+        assertTrue(seats.isOccupied(199));
+        assertEquals(-1, seats.nextFree(199));
+    }
+
+    @Test
+    @DisplayName("Day 5 - Seat allocation")
+    void testSeatAllocation() throws InterruptedException, ExecutionException {
+        final SeatAllocationService service = new SeatAllocationService();
+        final int threads = 4;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            // Every thread boards every pass on both flights, so each seat is contended
+            final List<Future<Integer>> results = new ArrayList<>();
+            for(int thread = 0; thread < threads; thread++){
+                final int offset = thread;
+                results.add(executor.submit(() -> {
+                    int boarded = 0;
+                    for(int index = 0; index < BOARDING_PASSES.length; index++){
+                        final String pass = BOARDING_PASSES[(index + offset * 97) % BOARDING_PASSES.length];
+                        boarded += service.board("A", pass) ? 1 : 0;
+                        boarded += service.board("B", pass) ? 1 : 0;
+                        service.getHighestOccupied("A");
+                    }
+                    return boarded;
+                }));
+            }
+
+            int boarded = 0;
+            for(final Future<Integer> result : results){
+                boarded += result.get();
+            }
+            assertEquals(2 * BOARDING_PASSES.length, boarded);
+        } finally {
+            executor.shutdown();
+        }
+
+        for(final String flight : new String[]{"A", "B"}){
+            assertEquals(BOARDING_PASSES.length, service.getOccupiedCount(flight));
+            assertEquals(922, service.getHighestOccupied(flight));
+            assertArrayEquals(new int[]{747}, service.getGaps(flight));
+            assertEquals(1024 - BOARDING_PASSES.length, service.getFreeSeats(flight).length);
+        }
+
+        assertEquals(BOARDING_PASSES.length, service.board("C", Utility.mapFile("Day5.txt").getBuffer()));
+        assertEquals(0, service.board("C", Utility.mapFile("Day5.txt").getBuffer()));
+        assertEquals(922, service.getHighestOccupied("C"));
+        assertEquals(3, service.getFlights().size());
+        assertEquals(-1, service.getHighestOccupied("D"));
+        assertEquals(1024, service.getFreeSeats("D").length);
+        assertEquals(0, service.getGaps("D").length);
+        assertThrows(IllegalArgumentException.class, () -> service.board("D", 1024));
+
+        assertTrue(service.board("D", 1023));
+        assertEquals(1023, service.getHighestOccupied("D"));
+        assertEquals(1, service.getOccupiedCount("D"));
+        assertTrue(service.remove("D"));
+        assertFalse(service.remove("D"));
+        assertEquals(3, service.getFlights().size());
+        assertEquals(0, service.getOccupiedCount("D"));
+        assertEquals(-1, service.getHighestOccupied("D"));
+    }
+
 }
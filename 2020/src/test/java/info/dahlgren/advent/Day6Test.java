@@ -27,7 +27,13 @@ package info.dahlgren.advent;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class Day6Test {
 
@@ -47,4 +53,36 @@ class Day6Test {
         assertEquals(3406, result);
     }
 
+    @Test
+    @DisplayName("Day 6 - Part 1 - Streaming")
+    void testPart1Streaming() throws IOException {
+        try(InputStream input = Utility.openFile("Day6.txt")) {
+            final int result = Day6.executePart1(input);
+            assertEquals(6778, result);
+        }
+    }
+
+    @Test
+    @DisplayName("Day 6 - Part 2 - Streaming")
+    void testPart2Streaming() throws IOException {
+        try(InputStream input = Utility.openFile("Day6.txt")) {
+            final int result = Day6.executePart2(input);
+            assertEquals(3406, result);
+        }
+    }
+
+    @Test
+    @DisplayName("Day 6 - Bytes")
+    void testBytes(){
+        assertEquals(new Answers(6778, 3406), Day6.execute(Utility.mapFile("Day6.txt")));
+
+        // Carriage returns, repeated blank lines and a group without a trailing line feed
+        final ByteBuffer forms = ByteBuffer.wrap("abc\r\n\r\na\r\nb\nc\n\n\n\nab\nac\n\na\na\na\na\n\nb"
+                .getBytes(StandardCharsets.US_ASCII));
+        assertEquals(new Answers(11, 6), Day6.execute(forms));
+        assertEquals(new Answers(0, 0), Day6.execute(ByteBuffer.allocate(0)));
+        assertThrows(IllegalArgumentException.class,
+                () -> Day6.execute(ByteBuffer.wrap("ab1\n".getBytes(StandardCharsets.US_ASCII))));
+    }
+
 }
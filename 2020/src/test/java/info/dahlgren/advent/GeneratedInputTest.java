@@ -0,0 +1,293 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent;
+
+import info.dahlgren.advent.generator.Generator;
+import info.dahlgren.advent.generator.Generators;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GeneratedInputTest {
+
+    private static final long SEED = 2020;
+    private static final Map<Integer, Integer> SIZES = Map.ofEntries(
+            Map.entry(1, 1000), Map.entry(2, 1000), Map.entry(3, 323),
+            Map.entry(4, 300), Map.entry(5, 800), Map.entry(6, 500),
+            Map.entry(7, 600), Map.entry(8, 600), Map.entry(9, 1000),
+            Map.entry(10, 100), Map.entry(11, 30), Map.entry(12, 800),
+            Map.entry(13, 20), Map.entry(14, 500), Map.entry(15, 10),
+            Map.entry(16, 200), Map.entry(17, 8), Map.entry(18, 400));
+
+    @Test
+    @DisplayName("Generated input - Solvers")
+    void testSolvers(){
+        for(Solver<?> solver : Runner.getSolvers()){
+            assertSolves(solver, generate(solver.getDay(), SIZES.get(solver.getDay()), SEED));
+        }
+    }
+
+    @Test
+    @DisplayName("Generated input - Seed")
+    void testSeed(){
+        for(int day = 1; day <= 18; day++){
+            final Generator generator = Generators.get(day);
+            final String input = Generators.generate(generator, SIZES.get(day), SEED);
+            assertEquals(input, Generators.generate(generator, SIZES.get(day), SEED));
+            assertNotEquals(input, Generators.generate(generator, SIZES.get(day), SEED + 1));
+        }
+    }
+
+    @Test
+    @DisplayName("Generated input - Day 9")
+    void testDay9(){
+        final long[] numbers = generate(9, 1000, SEED).toLongs();
+        assertEquals(numbers[numbers.length - 1], Day9.executePart1(numbers));
+    }
+
+    /**
+     * Compares the solver with the line based implementations where a day has one, or with the answers
+     * the generator planted in the input. Days without either only get checked for non-negative numbers,
+     * as every answer of the puzzles is.
+     */
+    private static <T> void assertSolves(final Solver<T> solver, final MappedInput input){
+        final Object[] expected = getExpected(solver.getDay(), input);
+        final T parsed = solver.parse(input);
+        assertAnswer(solver.getDay(), 1, expected == null ? null : expected[0], solver.solvePart1(parsed));
+        if(solver.getDay() != 15){
+            assertAnswer(solver.getDay(), 2, expected == null ? null : expected[1], solver.solvePart2(parsed));
+        }
+    }
+
+    private static void assertAnswer(final int day, final int part, final Object expected, final Object actual){
+        final String message = "Day " + day + " part " + part;
+        assertTrue(actual instanceof Number, message);
+        if(expected == null){
+            assertTrue(((Number) actual).longValue() >= 0, message);
+        } else {
+            assertEquals(((Number) expected).longValue(), ((Number) actual).longValue(), message);
+        }
+    }
+
+    private static Object[] getExpected(final int day, final MappedInput input){
+        final String[] lines = input.toLines();
+        return switch (day) {
+            case 1 -> getExpectedDay1(input.toInts());
+            case 2 -> new Object[] { Day2.executePar1(lines), Day2.executePar2(lines) };
+            case 3 -> new Object[] {
+                    Day3.execute(lines, 1, 3),
+                    (long) Day3.execute(lines, 1, 1) * Day3.execute(lines, 1, 3) * Day3.execute(lines, 1, 5) *
+                            Day3.execute(lines, 1, 7) * Day3.execute(lines, 2, 1)
+            };
+            case 4 -> new Object[] { Day4.executePart1(lines), Day4.executePart2(lines) };
+            case 5 -> new Object[] { Day5.executePart1(lines), Day5.executePart2(lines) };
+            case 6 -> new Object[] { Day6.executePart1(lines), Day6.executePart2(lines) };
+            case 8 -> getExpectedDay8(lines);
+            case 9 -> getExpectedDay9(input.toLongs());
+            case 10 -> getExpectedDay10(input.toInts());
+            case 13 -> getExpectedDay13(Integer.parseInt(lines[0]), lines[1].split(","));
+            case 15 -> new Object[] { getExpectedDay15(lines[0].split(",")), null };
+            case 16 -> getExpectedDay16(lines);
+            default -> null;
+        };
+    }
+
+    private static Object[] getExpectedDay1(final int[] numbers){
+        final Set<Integer> values = Arrays.stream(numbers).boxed().collect(Collectors.toSet());
+        long pair = -1;
+        long triple = -1;
+        for(int first = 0; first < numbers.length; first++){
+            if(2 * numbers[first] != 2020 && values.contains(2020 - numbers[first])){
+                pair = (long) numbers[first] * (2020 - numbers[first]);
+            }
+            for(int second = first + 1; second < numbers.length; second++){
+                final int third = 2020 - numbers[first] - numbers[second];
+                if(third != numbers[first] && third != numbers[second] && values.contains(third)){
+                    triple = (long) numbers[first] * numbers[second] * third;
+                }
+            }
+        }
+        return new Object[] { pair, triple };
+    }
+
+    /**
+     * The only backward jump is the corrupted instruction, so the repaired program runs it as a {@code nop}.
+     */
+    private static Object[] getExpectedDay8(final String[] lines){
+        int corrupted = -1;
+        for(int index = 0; index < lines.length; index++){
+            if(lines[index].startsWith("jmp -")){
+                assertEquals(-1, corrupted, "Day 8 has a single backward jump");
+                corrupted = index;
+            }
+        }
+        return new Object[] { runDay8(lines, -1), runDay8(lines, corrupted) };
+    }
+
+    private static long runDay8(final String[] lines, final int repaired){
+        final boolean[] visited = new boolean[lines.length];
+        long accumulator = 0;
+        int index = 0;
+        while(index < lines.length && !visited[index]){
+            visited[index] = true;
+            final int argument = Integer.parseInt(lines[index].substring(4));
+            if(lines[index].startsWith("acc")){
+                accumulator += argument;
+            }
+            index += lines[index].startsWith("jmp") && index != repaired ? argument : 1;
+        }
+        assertEquals(repaired >= 0, index == lines.length, "Day 8 terminates only once repaired");
+        return accumulator;
+    }
+
+    /**
+     * The last number is the planted invalid one, and the sum of a contiguous run before it.
+     */
+    private static Object[] getExpectedDay9(final long[] numbers){
+        final long invalid = numbers[numbers.length - 1];
+        for(int start = 0; start < numbers.length - 1; start++){
+            long sum = numbers[start];
+            long min = numbers[start];
+            long max = numbers[start];
+            for(int end = start + 1; end < numbers.length - 1 && sum <= invalid; end++){
+                sum += numbers[end];
+                min = Math.min(min, numbers[end]);
+                max = Math.max(max, numbers[end]);
+                if(sum == invalid){
+                    return new Object[] { invalid, min + max };
+                }
+            }
+        }
+        throw new AssertionError("Day 9 has no contiguous run adding up to " + invalid);
+    }
+
+    /**
+     * The joltages differ by one, two or three, so every adapter is used and each can be reached
+     * from the three joltages below it.
+     */
+    private static Object[] getExpectedDay10(final int[] adapters){
+        final int[] sorted = adapters.clone();
+        Arrays.sort(sorted);
+        final int[] gaps = new int[4];
+        final long[] ways = new long[sorted[sorted.length - 1] + 1];
+        ways[0] = 1;
+        int previous = 0;
+        for(int adapter : sorted){
+            gaps[adapter - previous]++;
+            for(int gap = 1; gap <= 3 && adapter - gap >= 0; gap++){
+                ways[adapter] += ways[adapter - gap];
+            }
+            previous = adapter;
+        }
+        return new Object[] { gaps[1] * (gaps[3] + 1), ways[previous] };
+    }
+
+    /**
+     * The bus ids are distinct primes, so the contest has a single solution modulo their product.
+     * The solver searches from 100000000000000 onwards, which is where the expected timestamp lies.
+     */
+    private static Object[] getExpectedDay13(final int earliest, final String[] schedule){
+        long product = 1;
+        long timestamp = 0;
+        long wait = Long.MAX_VALUE;
+        long bus = 0;
+        for(int index = 0; index < schedule.length; index++){
+            if(schedule[index].equals("x")){
+                continue;
+            }
+            final int id = Integer.parseInt(schedule[index]);
+            if((id - earliest % id) % id < wait){
+                wait = (id - earliest % id) % id;
+                bus = id;
+            }
+            while((timestamp + index) % id != 0){
+                timestamp += product;
+            }
+            product *= id;
+        }
+        final long start = 100_000_000_000_000L;
+        return new Object[] { bus * wait, start + Math.floorMod(timestamp - start, product) };
+    }
+
+    private static long getExpectedDay15(final String[] numbers){
+        final Map<Integer, Integer> spoken = new HashMap<>();
+        int last = Integer.parseInt(numbers[0]);
+        for(int turn = 1; turn < 2020; turn++){
+            final int next = turn < numbers.length ? Integer.parseInt(numbers[turn]) :
+                    turn - spoken.getOrDefault(last, turn);
+            spoken.put(last, turn);
+            last = next;
+        }
+        return last;
+    }
+
+    /**
+     * Every field accepts all numbers up to its upper bound, so only values above the widest field are
+     * invalid, and the tens of a value on your ticket give the rank of the field it belongs to.
+     */
+    private static Object[] getExpectedDay16(final String[] lines){
+        int fields = 0;
+        while(!lines[fields].isEmpty()){
+            fields++;
+        }
+        final int widest = fields * 10;
+
+        long product = 1;
+        for(String value : lines[fields + 2].split(",")){
+            final int number = Integer.parseInt(value);
+            if((number - 1) / 10 < 6){
+                product *= number;
+            }
+        }
+
+        long invalid = 0;
+        for(int index = fields + 5; index < lines.length; index++){
+            for(String value : lines[index].split(",")){
+                final int number = Integer.parseInt(value);
+                if(number > widest){
+                    invalid += number;
+                }
+            }
+        }
+        return new Object[] { invalid, product };
+    }
+
+    private static MappedInput generate(final int day, final int size, final long seed){
+        final String input = Generators.generate(Generators.get(day), size, seed);
+        return MappedInput.wrap(ByteBuffer.wrap(input.getBytes(StandardCharsets.UTF_8)));
+    }
+
+}
@@ -0,0 +1,90 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedInputTest {
+
+    private static MappedInput wrap(final String content){
+        return MappedInput.wrap(ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("Mapped input - Lines")
+    void testLines(){
+        assertArrayEquals(new String[] { "a", "", "bc" }, wrap("a\n\nbc\n").toLines());
+        assertArrayEquals(new String[] { "a", "bc" }, wrap("a\r\nbc").toLines());
+        assertArrayEquals(new String[0], wrap("").toLines());
+    }
+
+    @Test
+    @DisplayName("Mapped input - Fields")
+    void testFields(){
+        final MappedInput.Slice[] fields = wrap("7,x,-13,+4\n").line(0).split(',');
+        assertEquals(4, fields.length);
+        assertEquals(7, fields[0].parseInt());
+        assertTrue(fields[1].contentEquals("x"));
+        assertFalse(fields[1].contentEquals("xx"));
+        assertEquals(-13L, fields[2].parseLong());
+        assertEquals(4, fields[3].parseInt());
+        assertThrows(NumberFormatException.class, fields[1]::parseInt);
+
+        final MappedInput.Slice[] limits = wrap("9223372036854775807,-9223372036854775808,9223372036854775808," +
+                "-9223372036854775809,99999999999999999999,2147483648\n").line(0).split(',');
+        assertEquals(Long.MAX_VALUE, limits[0].parseLong());
+        assertEquals(Long.MIN_VALUE, limits[1].parseLong());
+        assertThrows(NumberFormatException.class, limits[2]::parseLong);
+        assertThrows(NumberFormatException.class, limits[3]::parseLong);
+        assertThrows(NumberFormatException.class, limits[4]::parseLong);
+        assertEquals(2147483648L, limits[5].parseLong());
+        assertThrows(NumberFormatException.class, limits[5]::parseInt);
+    }
+
+    @Test
+    @DisplayName("Mapped input - Day 1")
+    void testDay1(){
+        final int[] numbers = Utility.mapFile("Day1.txt").toInts();
+        assertEquals(864864, Day1.executePart1(numbers).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Mapped input - Day 11")
+    void testDay11(){
+        final char[][] layout = Utility.mapFile("Day11.txt").toCharGrid();
+        assertEquals(2476, Day11.executePart1(layout));
+    }
+
+}
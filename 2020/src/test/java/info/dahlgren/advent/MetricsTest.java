@@ -0,0 +1,133 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsTest {
+
+    @Test
+    @DisplayName("Metrics - Summary")
+    void testSummary(){
+        Metrics.reset();
+        Metrics.setEnabled(true);
+        try {
+            Runner.run(new Day9Solver(), Utility.mapFile("Day9.txt"));
+            Day15.execute(new int[] { 0, 3, 6 }, 2020);
+        } finally {
+            Metrics.setEnabled(false);
+        }
+
+        final String summary = Metrics.summary();
+        assertTrue(getValue(summary, "Day  9 parse") > 0);
+        assertTrue(getValue(summary, "Day  9 part1") > 0);
+        assertTrue(getValue(summary, "Day  9 part2") > 0);
+        assertEquals(2020.0, getValue(summary, "Day 15 turns"));
+        assertEquals(381.0, getValue(summary, "Day 15 previousTurns"));
+    }
+
+    @Test
+    @DisplayName("Metrics - Events")
+    void testEvents() throws IOException {
+        final List<RecordedEvent> events;
+        final Path file = Files.createTempFile("metrics", ".jfr");
+        try(Recording recording = new Recording()) {
+            recording.enable("info.dahlgren.advent.Phase");
+            recording.enable("info.dahlgren.advent.Iterations");
+            recording.enable("info.dahlgren.advent.PeakSize");
+            recording.start();
+            Metrics.setEnabled(true);
+            try {
+                Runner.run(new Day9Solver(), Utility.mapFile("Day9.txt"));
+                Day15.execute(new int[] { 0, 3, 6 }, 2020);
+            } finally {
+                Metrics.setEnabled(false);
+            }
+            recording.stop();
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        } finally {
+            Files.delete(file);
+        }
+
+        final List<RecordedEvent> phases = getEvents(events, "info.dahlgren.advent.Phase");
+        assertEquals(List.of("parse", "part1", "part2"), phases.stream()
+                .filter(event -> event.getInt("day") == 9)
+                .map(event -> event.getString("phase"))
+                .sorted()
+                .collect(toList()));
+        for(RecordedEvent phase : phases){
+            assertTrue(phase.getDuration("elapsed").toNanos() > 0);
+        }
+
+        final List<RecordedEvent> iterations = getEvents(events, "info.dahlgren.advent.Iterations");
+        assertEquals(1, iterations.size());
+        assertEquals(15, iterations.get(0).getInt("day"));
+        assertEquals("turns", iterations.get(0).getString("name"));
+        assertEquals(2020L, iterations.get(0).getLong("count"));
+
+        final List<RecordedEvent> peakSizes = getEvents(events, "info.dahlgren.advent.PeakSize");
+        assertEquals(1, peakSizes.size());
+        assertEquals("previousTurns", peakSizes.get(0).getString("name"));
+        assertEquals(381L, peakSizes.get(0).getLong("size"));
+    }
+
+    @Test
+    @DisplayName("Metrics - Disabled")
+    void testDisabled(){
+        Metrics.reset();
+        Day11.executePart1(Utility.mapFile("Day11.txt").toCharGrid());
+        assertFalse(Metrics.summary().contains("generations"));
+    }
+
+    private static double getValue(final String summary, final String key){
+        final Matcher matcher = Pattern.compile("(?m)^  " + Pattern.quote(key) + " +(\\S+)$").matcher(summary);
+        assertTrue(matcher.find(), key + " missing from summary");
+        return Double.parseDouble(matcher.group(1));
+    }
+
+    private static List<RecordedEvent> getEvents(final List<RecordedEvent> events, final String name){
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .collect(toList());
+    }
+
+}
@@ -0,0 +1,163 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResultCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private static MappedInput wrap(final String content){
+        return MappedInput.wrap(ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    @DisplayName("Result cache - Keys")
+    void testKeys(){
+        final ResultCache cache = ResultCache.create(directory, 10);
+        final Solver<?> solver = new Day1Solver();
+        final String key = cache.getKey(solver, 1, wrap("1010\n1010\n"));
+
+        assertEquals(key, cache.getKey(solver, 1, wrap("1010\n1010\n")));
+        assertNotEquals(key, cache.getKey(solver, 2, wrap("1010\n1010\n")));
+        assertNotEquals(key, cache.getKey(solver, 1, wrap("1010\n1011\n")));
+        assertNotEquals(key, cache.getKey(new Day2Solver(), 1, wrap("1010\n1010\n")));
+        assertEquals(key, cache.getKey(solver, 1, cache.getInputHash(wrap("1010\n1010\n"))));
+    }
+
+    @Test
+    @DisplayName("Result cache - Solve")
+    void testSolve(){
+        final ResultCache cache = ResultCache.create(directory, 10);
+        final MappedInput input = wrap("1010\n1010\n");
+        assertEquals(1020100, cache.solve(new Day1Solver(), 1, input));
+
+        final String key = cache.getKey(new Day1Solver(), 1, input);
+        assertEquals(Optional.of(1020100), cache.getResult(key));
+        assertEquals(1020100, cache.solve(new Day1Solver(), 1, input));
+    }
+
+    @Test
+    @DisplayName("Result cache - Types")
+    void testTypes(){
+        final ResultCache cache = ResultCache.create(directory, 100);
+        cache.putResult("int", 42);
+        cache.putResult("long", 42L);
+        cache.putResult("string", "4:2");
+        cache.putResult("thread", Thread.currentThread());
+        cache.put("untyped", "42");
+
+        assertEquals(Optional.of(42), cache.getResult("int"));
+        assertEquals(Optional.of(42L), cache.getResult("long"));
+        assertEquals(Optional.of("4:2"), cache.getResult("string"));
+        assertFalse(cache.getResult("thread").isPresent());
+        assertFalse(cache.getResult("untyped").isPresent());
+    }
+
+    @Test
+    @DisplayName("Result cache - Runner")
+    void testRunner(){
+        final ResultCache cache = ResultCache.create(directory, 100);
+        final MappedInput input = Utility.mapFile("Day9.txt");
+        final Runner.Report solved = Runner.run(new Day9Solver(), input, cache);
+        final Runner.Report cached = Runner.run(new Day9Solver(), input, cache);
+
+        assertEquals(0, cached.getPart1Nanos());
+        assertEquals(solved.getPart1(), cached.getPart1());
+        assertEquals(solved.getPart2(), cached.getPart2());
+        assertEquals(25918798L, cached.getPart1());
+    }
+
+    @Test
+    @DisplayName("Result cache - Eviction")
+    void testEviction() throws IOException {
+        final ResultCache cache = ResultCache.create(directory, 2);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        Files.setLastModifiedTime(directory.resolve("a.result"), FileTime.fromMillis(1000));
+        Files.setLastModifiedTime(directory.resolve("b.result"), FileTime.fromMillis(2000));
+
+        // Reading a marks it as recently used, so b is the entry to evict
+        assertTrue(cache.get("a").isPresent());
+        cache.put("c", "3");
+
+        assertTrue(cache.get("a").isPresent());
+        assertFalse(cache.get("b").isPresent());
+        assertTrue(cache.get("c").isPresent());
+    }
+
+    @Test
+    @DisplayName("Result cache - Size")
+    void testSize() throws IOException {
+        final ResultCache cache = ResultCache.create(directory, 10);
+        cache.put("a", "1234");
+        cache.put("b", "5678");
+        assertEquals(8, cache.size());
+
+        // Replacing an entry only counts its new size, and c pushes the total over the limit
+        cache.put("a", "12");
+        assertEquals(6, cache.size());
+        cache.put("c", "abcdef");
+        assertFalse(cache.get("b").isPresent());
+        assertTrue(cache.get("a").isPresent());
+        assertEquals(8, cache.size());
+
+        // A new instance indexes the entries already on disk
+        final ResultCache reopened = ResultCache.create(directory, 10);
+        assertEquals(8, reopened.size());
+        reopened.put("d", "xyz");
+        try(Stream<Path> files = Files.list(directory)) {
+            assertEquals(2, files.filter(file -> file.toString().endsWith(".result")).count());
+        }
+    }
+
+    @Test
+    @DisplayName("Result cache - Disabled")
+    void testDisabled(){
+        final ResultCache cache = ResultCache.disabled();
+        cache.put("a", "1");
+        assertFalse(cache.get("a").isPresent());
+        assertEquals(1020100, cache.solve(new Day1Solver(), 1, wrap("1010\n1010\n")));
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RunnerTest {
+
+    @Test
+    @DisplayName("Runner - Solvers")
+    void testSolvers(){
+        final List<Integer> days = Runner.getSolvers().stream()
+                .map(Solver::getDay)
+                .collect(toList());
+
+        assertEquals(IntStream.rangeClosed(1, 18).boxed().collect(toList()), days);
+    }
+
+    @Test
+    @DisplayName("Runner - Run")
+    void testRun(){
+        final Runner.Report report = Runner.run(new Day9Solver(), Utility.mapFile("Day9.txt"));
+        assertEquals(9, report.getDay());
+        assertEquals(25918798L, report.getPart1());
+        assertEquals(3340942L, report.getPart2());
+        assertTrue(report.getParseNanos() > 0);
+    }
+
+    @Test
+    @DisplayName("Runner - Run all")
+    void testRunAll(){
+        final Map<Integer, List<Object>> answers = Map.of(
+                1, List.of(864864, 281473080),
+                5, List.of(922, 747),
+                6, List.of(6778, 3406),
+                9, List.of(25918798L, 3340942L),
+                16, List.of(27898, 2766491048287L));
+        final List<Solver<?>> solvers = Runner.getSolvers().stream()
+                .filter(solver -> answers.containsKey(solver.getDay()))
+                .collect(toList());
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final List<Runner.Report> reports = Runner.runAll(solvers, Path.of("src/test/resources"), pool,
+                    ResultCache.disabled());
+            assertEquals(List.of(1, 5, 6, 9, 16), reports.stream().map(Runner.Report::getDay).collect(toList()));
+            for(Runner.Report report : reports){
+                assertEquals(answers.get(report.getDay()), List.of(report.getPart1(), report.getPart2()));
+                assertTrue(report.getParseNanos() > 0);
+                assertTrue(report.getPart1Nanos() > 0);
+                assertTrue(report.getPart2Nanos() > 0);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Runner - Run inline")
+    void testRunInline(){
+        final Solver<Thread> solver = new Solver<>() {
+            @Override
+            public int getDay() {
+                return 0;
+            }
+
+            @Override
+            public Thread parse(final MappedInput input) {
+                return Thread.currentThread();
+            }
+
+            @Override
+            public Object solvePart1(final Thread input) {
+                return Thread.currentThread();
+            }
+
+            @Override
+            public Object solvePart2(final Thread input) {
+                return Thread.currentThread();
+            }
+        };
+
+        final Runner.Report report = Runner.run(solver, Utility.mapFile("Day9.txt"));
+        assertEquals(Thread.currentThread(), report.getPart1());
+        assertEquals(Thread.currentThread(), report.getPart2());
+    }
+
+    @Test
+    @DisplayName("Runner - Single pass")
+    void testSinglePass(){
+        final int[] passes = new int[1];
+        final SinglePass input = new SinglePass(ByteBuffer.allocate(0), buffer -> {
+            passes[0]++;
+            return new Answers(1, 2);
+        });
+        assertEquals(0, passes[0]);
+        assertEquals(1L, input.getAnswers().getPart1());
+        assertEquals(2L, input.getAnswers().getPart2());
+        assertEquals(1, passes[0]);
+    }
+
+    @Test
+    @DisplayName("Runner - Run each")
+    void testRunEach(){
+        final List<Path> inputs = Collections.nCopies(100, Path.of("src/test/resources", "Day5.txt"));
+        final List<Runner.Report> reports = Runner.runEach(new Day5Solver(), inputs, ResultCache.disabled());
+
+        assertEquals(100, reports.size());
+        for(Runner.Report report : reports){
+            assertEquals(922, report.getPart1());
+            assertEquals(747, report.getPart2());
+        }
+    }
+
+}
@@ -24,33 +24,44 @@
 
 package info.dahlgren.advent;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
-import java.util.LinkedList;
-import java.util.List;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 public final class Utility {
 
+    private static final ResultCache CACHE = ResultCache.fromSystemProperties();
+
     private Utility() {
 
     }
 
     public static String[] parseFile(final String file){
-        try(FileReader fileReader = new FileReader("src/test/resources/" + file)) {
-            try(BufferedReader bufferedReader = new BufferedReader(fileReader)) {
-                final List<String> lines = new LinkedList<>();
-                String line;
-                while ((line = bufferedReader.readLine()) != null) {
-                    lines.add(line);
-                }
-
-                return lines.toArray(new String[0]);
-            }
+        return mapFile(file).toLines();
+    }
+
+    public static InputStream openFile(final String file){
+        try {
+            return Files.newInputStream(Path.of("src/test/resources", file));
+        } catch(IOException e) {
+            throw new IllegalStateException("Unable to open file: " + file);
+        }
+    }
+
+    public static MappedInput mapFile(final String file){
+        try {
+            return MappedInput.map(Path.of("src/test/resources", file));
         } catch(IOException e) {
             throw new IllegalStateException("Unable to parse file: " + file);
         }
     }
 
+    /**
+     * Solves the part through the result cache configured by the advent.cache.dir system property.
+     */
+    public static Object solve(final Solver<?> solver, final int part, final String file){
+        return CACHE.solve(solver, part, mapFile(file));
+    }
 
 }
@@ -0,0 +1,147 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent.benchmark;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The stored JMH JSON report which every benchmark run is compared against.
+ * The file is the unmodified output of {@code -rf json}, so recording a new
+ * baseline is a matter of copying the latest result file.
+ */
+public final class Baseline {
+
+    private static final class Score {
+
+        private final double score;
+        private final double error;
+        private final String unit;
+
+        public Score(final double score, final double error, final String unit) {
+            this.score = score;
+            this.error = Double.isNaN(error) ? 0 : error;
+            this.unit = Objects.requireNonNull(unit);
+        }
+
+    }
+
+    private final Map<String, Score> scores;
+
+    private Baseline(final Map<String, Score> scores) {
+        this.scores = Objects.requireNonNull(scores);
+    }
+
+    public static Baseline load(final Path file){
+        final Map<String, Score> scores = new HashMap<>();
+        try(Reader reader = Files.newBufferedReader(file)) {
+            final JsonArray results = JsonParser.parseReader(reader).getAsJsonArray();
+            for(JsonElement element : results){
+                final JsonObject result = element.getAsJsonObject();
+                final JsonObject metric = result.getAsJsonObject("primaryMetric");
+                final String key = getKey(result.get("benchmark").getAsString(), result.get("mode").getAsString());
+                scores.put(key, new Score(metric.get("score").getAsDouble(),
+                        getError(metric.get("scoreError")),
+                        metric.get("scoreUnit").getAsString()));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read baseline: " + file, e);
+        }
+
+        return new Baseline(scores);
+    }
+
+    /**
+     * Returns a description of every benchmark which performs worse than the baseline.
+     * A benchmark is only reported when the difference exceeds both the relative
+     * tolerance and the combined error margins of the two measurements.
+     */
+    public List<String> compare(final Collection<RunResult> results, final double tolerance){
+        final List<String> regressions = new ArrayList<>();
+        for(RunResult runResult : results){
+            final String benchmark = runResult.getParams().getBenchmark();
+            final String mode = runResult.getParams().getMode().shortLabel();
+            final Score baseline = scores.get(getKey(benchmark, mode));
+            if(baseline == null){
+                continue;
+            }
+
+            final Result<?> result = runResult.getPrimaryResult();
+            if(!baseline.unit.equals(result.getScoreUnit())){
+                regressions.add(benchmark + " (" + mode + "): unit changed from " +
+                        baseline.unit + " to " + result.getScoreUnit());
+                continue;
+            }
+
+            final double error = Double.isNaN(result.getScoreError()) ? 0 : result.getScoreError();
+            final double margin = Math.max(baseline.score * tolerance, baseline.error + error);
+            // Throughput is better when higher, all other modes measure time and are better when lower
+            final double delta = runResult.getParams().getMode() == Mode.Throughput ?
+                    baseline.score - result.getScore() :
+                    result.getScore() - baseline.score;
+
+            if(delta > margin){
+                regressions.add(String.format("%s (%s): %.3f %s, baseline %.3f ± %.3f %s",
+                        benchmark, mode, result.getScore(), result.getScoreUnit(),
+                        baseline.score, baseline.error, baseline.unit));
+            }
+        }
+
+        return regressions;
+    }
+
+    private static double getError(final JsonElement element){
+        // JMH writes "NaN" as a string when the error cannot be computed, e.g. single shot runs
+        if(element == null || element.isJsonNull()){
+            return Double.NaN;
+        }
+        try {
+            return element.getAsDouble();
+        } catch (NumberFormatException e){
+            return Double.NaN;
+        }
+    }
+
+    private static String getKey(final String benchmark, final String mode){
+        return benchmark + ":" + mode;
+    }
+
+}
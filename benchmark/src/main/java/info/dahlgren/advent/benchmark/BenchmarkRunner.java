@@ -0,0 +1,105 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Runs the DayN benchmarks with the GC profiler enabled and compares the result
+ * against a baseline report recorded earlier on the same machine.
+ *
+ * <pre>
+ * java -jar benchmark/target/benchmarks.jar [benchmark regexp]
+ *
+ *   -Dadvent.benchmark.baseline=benchmark/baseline.json  baseline report
+ *   -Dadvent.benchmark.result=benchmark/target/jmh-result.json
+ *   -Dadvent.benchmark.tolerance=0.10                    allowed relative regression
+ *   -Dadvent.benchmark.update=true                       record the baseline from this run
+ *   -Dadvent.inputs=2020/src/test/resources              puzzle inputs
+ * </pre>
+ *
+ * A run without a baseline records one, which is meant to be committed next to the benchmarks. Scores
+ * depend on the hardware, so a baseline is only comparable on the machine that recorded it; record it
+ * again after moving machines or after an intended change in performance. The process exits with
+ * status 1 if any benchmark regressed.
+ */
+public final class BenchmarkRunner {
+
+    private static final String BASELINE = System.getProperty("advent.benchmark.baseline", "benchmark/baseline.json");
+    private static final String RESULT = System.getProperty("advent.benchmark.result", "benchmark/target/jmh-result.json");
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("advent.benchmark.tolerance", "0.10"));
+    private static final boolean UPDATE = Boolean.getBoolean("advent.benchmark.update");
+
+    private BenchmarkRunner() {
+
+    }
+
+    public static void main(final String[] args) throws RunnerException, IOException {
+        final Path result = Path.of(RESULT);
+        final Path baseline = Path.of(BASELINE);
+        Files.createDirectories(result.toAbsolutePath().getParent());
+
+        final Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : BenchmarkRunner.class.getPackageName() + ".Day")
+                .addProfiler(GCProfiler.class)
+                .jvmArgsAppend("-D" + Inputs.DIRECTORY_PROPERTY + "=" + Inputs.getDirectory())
+                .resultFormat(ResultFormatType.JSON)
+                .result(result.toString())
+                .build();
+
+        final Collection<RunResult> results = new Runner(options).run();
+
+        if(UPDATE || !Files.exists(baseline)){
+            Files.createDirectories(baseline.toAbsolutePath().getParent());
+            Files.copy(result, baseline, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline written to " + baseline);
+            return;
+        }
+
+        final List<String> regressions = Baseline.load(baseline).compare(results, TOLERANCE);
+        if(regressions.isEmpty()){
+            System.out.println("No regressions compared to " + baseline);
+            return;
+        }
+
+        System.err.println("Regressions compared to " + baseline + ":");
+        regressions.forEach(regression -> System.err.println("  " + regression));
+        System.exit(1);
+    }
+
+}
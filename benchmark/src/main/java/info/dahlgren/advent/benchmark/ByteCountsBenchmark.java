@@ -0,0 +1,79 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent.benchmark;
+
+import info.dahlgren.advent.ByteCounts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the scalar and the vectorized byte count used by day 2 on passwords of growing length.
+ * The vectorized count falls back to the scalar loop unless it runs from the multi-release JAR on
+ * JDK 25 or later, as reported by {@link ByteCounts#isVectorized()}.
+ *
+ * <pre>
+ * java -jar benchmark/target/benchmarks.jar ByteCounts
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(value = 2, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ByteCountsBenchmark extends AbstractBenchmark {
+
+    @Param({"16", "256", "4096", "65536"})
+    public int length;
+
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setup(){
+        final byte[] password = new byte[length];
+        final Random random = new Random(2020);
+        for(int index = 0; index < length; index++){
+            password[index] = (byte) ('a' + random.nextInt(26));
+        }
+        buffer = ByteBuffer.allocateDirect(length).put(password).flip();
+    }
+
+    @Benchmark
+    public int scalar(){
+        return ByteCounts.countScalar(buffer, 0, length, (byte) 'e');
+    }
+
+    @Benchmark
+    public int vector(){
+        return ByteCounts.count(buffer, 0, length, (byte) 'e');
+    }
+
+}
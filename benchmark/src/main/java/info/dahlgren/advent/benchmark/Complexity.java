@@ -0,0 +1,77 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent.benchmark;
+
+/**
+ * Empirical growth rate of a solver. The exponent is the slope of the least squares fit of
+ * {@code log(time)} against {@code log(size)}, so a linear solver has an exponent close to one
+ * and a quadratic solver an exponent close to two. Logarithmic factors only add a fraction,
+ * which is why the complexity class is the exponent rounded to the nearest integer.
+ */
+public final class Complexity {
+
+    private Complexity() {
+
+    }
+
+    public static double getExponent(final double[] sizes, final double[] times){
+        if(sizes.length != times.length || sizes.length < 2){
+            throw new IllegalArgumentException("At least two measurements are required");
+        }
+
+        double meanSize = 0;
+        double meanTime = 0;
+        for(int index = 0; index < sizes.length; index++){
+            meanSize += Math.log(sizes[index]) / sizes.length;
+            meanTime += Math.log(times[index]) / sizes.length;
+        }
+
+        double covariance = 0;
+        double variance = 0;
+        for(int index = 0; index < sizes.length; index++){
+            final double size = Math.log(sizes[index]) - meanSize;
+            covariance += size * (Math.log(times[index]) - meanTime);
+            variance += size * size;
+        }
+
+        return covariance / variance;
+    }
+
+    public static int getClass(final double exponent){
+        return (int) Math.max(0, Math.round(exponent));
+    }
+
+    public static String describe(final int complexityClass){
+        switch (complexityClass){
+            case 0:
+                return "O(1)";
+            case 1:
+                return "O(n)";
+            default:
+                return "O(n^" + complexityClass + ")";
+        }
+    }
+
+}
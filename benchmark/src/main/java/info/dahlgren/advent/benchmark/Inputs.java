@@ -0,0 +1,65 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent.benchmark;
+
+import info.dahlgren.advent.MappedInput;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public final class Inputs {
+
+    public static final String DIRECTORY_PROPERTY = "advent.inputs";
+    private static final String DEFAULT_DIRECTORY = "2020/src/test/resources";
+
+    private Inputs() {
+
+    }
+
+    public static Path getDirectory(){
+        return Path.of(System.getProperty(DIRECTORY_PROPERTY, DEFAULT_DIRECTORY)).toAbsolutePath();
+    }
+
+    public static MappedInput map(final String file){
+        try {
+            return MappedInput.map(getDirectory().resolve(file));
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to parse file: " + file, e);
+        }
+    }
+
+    public static String[] lines(final String file){
+        return map(file).toLines();
+    }
+
+    public static int[] ints(final String file){
+        return map(file).toInts();
+    }
+
+    public static long[] longs(final String file){
+        return map(file).toLongs();
+    }
+
+}
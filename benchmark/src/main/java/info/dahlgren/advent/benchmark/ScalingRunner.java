@@ -0,0 +1,165 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent.benchmark;
+
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Runs the {@link ScalingBenchmark} and fits the growth rate of every scenario. The process
+ * exits with status 1 if a scenario moved to a worse complexity class than the one stored in
+ * the repository, e.g. if a linear scan turns a linear solver into a quadratic one. A scenario
+ * without a stored class fails as well, unless its class is recorded with {@code advent.scaling.record}.
+ *
+ * <pre>
+ * java -cp benchmark/target/benchmarks.jar info.dahlgren.advent.benchmark.ScalingRunner [scenario regexp]
+ *
+ *   -Dadvent.scaling.expected=benchmark/complexity.properties  expected complexity classes
+ *   -Dadvent.scaling.tolerance=0.75                           allowed exponent above the expected class
+ *   -Dadvent.scaling.record=true                              store the classes of new scenarios
+ *   -Dadvent.scaling.update=true                              replace the expected classes with this run
+ * </pre>
+ */
+public final class ScalingRunner {
+
+    private static final String EXPECTED = System.getProperty("advent.scaling.expected", "benchmark/complexity.properties");
+    private static final double TOLERANCE = Double.parseDouble(System.getProperty("advent.scaling.tolerance", "0.75"));
+    private static final boolean RECORD = Boolean.getBoolean("advent.scaling.record");
+    private static final boolean UPDATE = Boolean.getBoolean("advent.scaling.update");
+
+    private ScalingRunner() {
+
+    }
+
+    public static void main(final String[] args) throws RunnerException, IOException {
+        final Options options = new OptionsBuilder()
+                .include(ScalingBenchmark.class.getName())
+                .param("scenario", getScenarios(args.length > 0 ? args[0] : ".*"))
+                .build();
+
+        final Map<Scenario, Double> exponents = getExponents(new Runner(options).run());
+        final Path expectedFile = Path.of(EXPECTED);
+        final Properties expected = load(expectedFile);
+
+        final List<String> regressions = new ArrayList<>();
+        boolean changed = false;
+        for(Map.Entry<Scenario, Double> entry : exponents.entrySet()){
+            final String name = entry.getKey().name();
+            final double exponent = entry.getValue();
+            final int measured = Complexity.getClass(exponent);
+            final String stored = expected.getProperty(name);
+            System.out.printf("%-12s exponent %5.2f  %s%n", name, exponent, Complexity.describe(measured));
+
+            if(UPDATE || stored == null && RECORD){
+                expected.setProperty(name, Integer.toString(measured));
+                changed = true;
+            } else if(stored == null){
+                regressions.add(String.format("%s: %s, no expected class in %s (record it with -Dadvent.scaling.record=true)",
+                        name, Complexity.describe(measured), expectedFile));
+            } else if(exponent > Integer.parseInt(stored) + TOLERANCE){
+                regressions.add(String.format("%s: %s, expected %s (exponent %.2f)", name,
+                        Complexity.describe(measured), Complexity.describe(Integer.parseInt(stored)), exponent));
+            }
+        }
+
+        if(changed){
+            store(expected, expectedFile);
+            System.out.println("Expected complexity classes written to " + expectedFile);
+        }
+
+        if(regressions.isEmpty()){
+            System.out.println("No complexity regressions compared to " + expectedFile);
+            return;
+        }
+
+        System.err.println("Complexity regressions compared to " + expectedFile + ":");
+        regressions.forEach(regression -> System.err.println("  " + regression));
+        System.exit(1);
+    }
+
+    private static String[] getScenarios(final String pattern){
+        return Arrays.stream(Scenario.values())
+                .map(Scenario::name)
+                .filter(name -> name.matches(pattern))
+                .toArray(String[]::new);
+    }
+
+    private static Map<Scenario, Double> getExponents(final Collection<RunResult> results){
+        final Map<Scenario, List<double[]>> measurements = new TreeMap<>();
+        for(RunResult result : results){
+            final Scenario scenario = Scenario.valueOf(result.getParams().getParam("scenario"));
+            final int scale = Integer.parseInt(result.getParams().getParam("scale"));
+            measurements.computeIfAbsent(scenario, key -> new ArrayList<>())
+                    .add(new double[]{scenario.getSize(scale), result.getPrimaryResult().getScore()});
+        }
+
+        final Map<Scenario, Double> exponents = new TreeMap<>();
+        measurements.forEach((scenario, points) -> exponents.put(scenario, Complexity.getExponent(
+                points.stream().mapToDouble(point -> point[0]).toArray(),
+                points.stream().mapToDouble(point -> point[1]).toArray())));
+        return exponents;
+    }
+
+    private static Properties load(final Path file) throws IOException {
+        final Properties properties = new Properties();
+        if(Files.exists(file)){
+            try(Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+        }
+        return properties;
+    }
+
+    private static void store(final Properties properties, final Path file) throws IOException {
+        try(Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# Expected complexity class per scenario, as the exponent of the size in Scenario.getSize\n");
+            writer.write("# The size of days 11 and 17 is the side of the grid, and the size of day 15 the number of turns.\n");
+            for(Scenario scenario : Scenario.values()){
+                final String value = properties.getProperty(scenario.name());
+                if(value != null){
+                    writer.write(scenario.name() + "=" + value + "\n");
+                }
+            }
+        }
+    }
+
+}
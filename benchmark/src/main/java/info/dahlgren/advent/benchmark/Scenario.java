@@ -0,0 +1,226 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent.benchmark;
+
+import info.dahlgren.advent.Day1;
+import info.dahlgren.advent.Day10;
+import info.dahlgren.advent.Day11;
+import info.dahlgren.advent.Day12;
+import info.dahlgren.advent.Day13;
+import info.dahlgren.advent.Day14;
+import info.dahlgren.advent.Day15;
+import info.dahlgren.advent.Day16;
+import info.dahlgren.advent.Day17;
+import info.dahlgren.advent.Day18;
+import info.dahlgren.advent.Day2;
+import info.dahlgren.advent.Day3;
+import info.dahlgren.advent.Day4;
+import info.dahlgren.advent.Day5;
+import info.dahlgren.advent.Day6;
+import info.dahlgren.advent.Day7;
+import info.dahlgren.advent.Day8;
+import info.dahlgren.advent.Day9;
+import info.dahlgren.advent.MappedInput;
+import info.dahlgren.advent.generator.Generators;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * A DayN entry point measured by the scaling benchmark. The input of size {@code base * scale}
+ * is generated and parsed up front, so only the call to the entry point is measured.
+ * Day 13 part 2 is left out, since its running time depends on the bus ids rather than on the
+ * size of the input, and so is day 9 part 2, whose generated run is always at the start.
+ * Day 15 scales the number of turns instead of the input.
+ */
+public enum Scenario {
+
+    DAY1_PART1(1, 10_000, (input, size) -> {
+        final int[] numbers = input.toInts();
+        return () -> Day1.executePart1(numbers);
+    }),
+    DAY1_PART2(1, 1_000, (input, size) -> {
+        final int[] numbers = input.toInts();
+        return () -> Day1.executePart2(numbers);
+    }),
+    DAY2_PART1(2, 10_000, (input, size) -> {
+        final String[] lines = input.toLines();
+        return () -> Day2.executePar1(lines);
+    }),
+    DAY2_PART2(2, 10_000, (input, size) -> {
+        final String[] lines = input.toLines();
+        return () -> Day2.executePar2(lines);
+    }),
+    DAY3_PART1(3, 10_000, (input, size) -> {
+        final String[] lines = input.toLines();
+        return () -> Day3.execute(lines, 1, 3);
+    }),
+    DAY4_PART1(4, 2_000, (input, size) -> {
+        final String[] lines = input.toLines();
+        return () -> Day4.executePart1(lines);
+    }),
+    DAY4_PART2(4, 2_000, (input, size) -> {
+        final String[] lines = input.toLines();
+        return () -> Day4.executePart2(lines);
+    }),
+    DAY5_PART1(5, 120, (input, size) -> {
+        final String[] lines = input.toLines();
+        return () -> Day5.executePart1(lines);
+    }),
+    DAY5_PART2(5, 120, (input, size) -> {
+        final String[] lines = input.toLines();
+        return () -> Day5.executePart2(lines);
+    }),
+    DAY6_PART1(6, 2_000, (input, size) -> {
+        final String[] lines = input.toLines();
+        return () -> Day6.executePart1(lines);
+    }),
+    DAY6_PART2(6, 2_000, (input, size) -> {
+        final String[] lines = input.toLines();
+        return () -> Day6.executePart2(lines);
+    }),
+    DAY7_PART1(7, 1_000, (input, size) -> {
+        final String[] lines = input.toLines();
+        return () -> Day7.executePart1(lines);
+    }),
+    DAY7_PART2(7, 1_000, (input, size) -> {
+        final String[] lines = input.toLines();
+        return () -> Day7.executePart2(lines);
+    }),
+    DAY8_PART1(8, 1_000, (input, size) -> {
+        final String[] lines = input.toLines();
+        return () -> Day8.executePart1(lines);
+    }),
+    DAY8_PART2(8, 250, (input, size) -> {
+        final String[] lines = input.toLines();
+        return () -> Day8.executePart2(lines);
+    }),
+    DAY9_PART1(9, 2_000, (input, size) -> {
+        final long[] numbers = input.toLongs();
+        return () -> Day9.executePart1(numbers);
+    }),
+    DAY10_PART1(10, 2_000, (input, size) -> {
+        final int[] numbers = input.toInts();
+        return () -> Day10.executePart1(numbers.clone());
+    }),
+    DAY10_PART2(10, 2_000, (input, size) -> {
+        final int[] numbers = input.toInts();
+        return () -> Day10.executePart2(numbers);
+    }),
+    DAY11_PART1(11, 10, (input, size) -> {
+        final char[][] layout = input.toCharGrid();
+        return () -> Day11.executePart1(layout);
+    }),
+    DAY11_PART2(11, 10, (input, size) -> {
+        final char[][] layout = input.toCharGrid();
+        return () -> Day11.executePart2(layout);
+    }),
+    DAY12_PART1(12, 10_000, (input, size) -> {
+        final String[] lines = input.toLines();
+        return () -> Day12.executePart1(lines);
+    }),
+    DAY12_PART2(12, 10_000, (input, size) -> {
+        final String[] lines = input.toLines();
+        return () -> Day12.executePart2(lines);
+    }),
+    DAY13_PART1(13, 1_000, (input, size) -> {
+        final String[] lines = input.toLines();
+        final int earliest = Integer.parseInt(lines[0]);
+        return () -> Day13.executePart1(earliest, lines[1]);
+    }),
+    DAY14_PART1(14, 1_000, (input, size) -> {
+        final String[] lines = input.toLines();
+        return () -> Day14.executePart1(lines);
+    }),
+    DAY14_PART2(14, 1_000, (input, size) -> {
+        final String[] lines = input.toLines();
+        return () -> Day14.executePart2(lines);
+    }),
+    DAY15(15, 100_000, (input, size) -> {
+        final int[] numbers = Arrays.stream(input.line(0).split(','))
+                .mapToInt(MappedInput.Slice::parseInt)
+                .toArray();
+        final int limit = Math.toIntExact(size);
+        return () -> Day15.execute(numbers, limit);
+    }),
+    DAY16_PART1(16, 500, (input, size) -> {
+        final String[] lines = input.toLines();
+        return () -> Day16.executePart1(lines);
+    }),
+    DAY16_PART2(16, 500, (input, size) -> {
+        final String[] lines = input.toLines();
+        return () -> Day16.executePart2(lines);
+    }),
+    DAY17_PART1(17, 2, (input, size) -> {
+        final String[] lines = input.toLines();
+        return () -> Day17.executePart1(lines);
+    }),
+    DAY17_PART2(17, 2, (input, size) -> {
+        final String[] lines = input.toLines();
+        return () -> Day17.executePart2(lines);
+    }),
+    DAY18_PART1(18, 2_000, (input, size) -> {
+        final String[] lines = input.toLines();
+        return () -> Day18.executePart1(lines);
+    }),
+    DAY18_PART2(18, 2_000, (input, size) -> {
+        final String[] lines = input.toLines();
+        return () -> Day18.executePart2(lines);
+    });
+
+    private static final long SEED = 2020;
+    private static final long DAY15_STARTING_NUMBERS = 7;
+
+    private final int day;
+    private final long base;
+    private final BiFunction<MappedInput, Long, Supplier<Object>> workload;
+
+    Scenario(final int day, final long base, final BiFunction<MappedInput, Long, Supplier<Object>> workload){
+        this.day = day;
+        this.base = base;
+        this.workload = workload;
+    }
+
+    public int getDay() {
+        return day;
+    }
+
+    public long getSize(final int scale){
+        return base * scale;
+    }
+
+    /**
+     * Generates and parses the input for the given scale and returns the call to measure.
+     */
+    public Supplier<Object> prepare(final int scale){
+        final long size = getSize(scale);
+        final String input = Generators.generate(Generators.get(day), day == 15 ? DAY15_STARTING_NUMBERS : size, SEED);
+        return workload.apply(MappedInput.wrap(ByteBuffer.wrap(input.getBytes(StandardCharsets.UTF_8))), size);
+    }
+
+}
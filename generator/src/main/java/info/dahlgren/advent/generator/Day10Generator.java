@@ -0,0 +1,60 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * {@code size} distinct adapters in random order, where the gap between consecutive joltages
+ * is one, two or three jolts.
+ */
+public final class Day10Generator implements Generator {
+
+    @Override
+    public int getDay() {
+        return 10;
+    }
+
+    @Override
+    public void generate(final long size, final Random random, final Writer output) throws IOException {
+        Generators.checkSize(size, 1, Integer.MAX_VALUE / 3, 10);
+
+        final int[] adapters = new int[(int) size];
+        int joltage = 0;
+        for(int index = 0; index < adapters.length; index++){
+            final int gap = random.nextInt(10);
+            joltage += gap < 6 ? 1 : (gap < 9 ? 3 : 2);
+            adapters[index] = joltage;
+        }
+        Generators.shuffle(adapters, random);
+
+        for(int adapter : adapters){
+            Generators.line(output, Integer.toString(adapter));
+        }
+    }
+
+}
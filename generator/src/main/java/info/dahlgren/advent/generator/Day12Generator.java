@@ -0,0 +1,55 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * {@code size} navigation instructions. Turns are always a multiple of 90 degrees.
+ */
+public final class Day12Generator implements Generator {
+
+    private static final char[] MOVES = {'N', 'S', 'E', 'W', 'F', 'F'};
+    private static final char[] TURNS = {'L', 'R'};
+
+    @Override
+    public int getDay() {
+        return 12;
+    }
+
+    @Override
+    public void generate(final long size, final Random random, final Writer output) throws IOException {
+        for(long index = 0; index < size; index++){
+            if(random.nextInt(4) == 0){
+                Generators.line(output, TURNS[random.nextInt(TURNS.length)] + Integer.toString(90 * (1 + random.nextInt(3))));
+            } else {
+                Generators.line(output, MOVES[random.nextInt(MOVES.length)] + Integer.toString(1 + random.nextInt(100)));
+            }
+        }
+    }
+
+}
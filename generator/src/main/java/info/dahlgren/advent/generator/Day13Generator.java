@@ -0,0 +1,86 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Notes with a schedule of {@code size} entries. The buses in service have distinct prime ids,
+ * so the contest in part 2 always has a solution, and roughly one entry in five is a bus.
+ */
+public final class Day13Generator implements Generator {
+
+    private static final int MAX_ID = 1000;
+
+    @Override
+    public int getDay() {
+        return 13;
+    }
+
+    @Override
+    public void generate(final long size, final Random random, final Writer output) throws IOException {
+        final List<Integer> primes = getPrimes();
+        Generators.checkSize(size, 2, Integer.MAX_VALUE, 13);
+
+        Collections.shuffle(primes, random);
+        final int buses = (int) Math.max(2, Math.min(size / 5, primes.size()));
+        final int[] positions = new int[(int) size];
+        for(int index = 0; index < positions.length; index++){
+            positions[index] = index;
+        }
+        Generators.shuffle(positions, random);
+
+        final String[] schedule = new String[(int) size];
+        for(int index = 0; index < schedule.length; index++){
+            schedule[index] = "x";
+        }
+        for(int bus = 0; bus < buses; bus++){
+            schedule[positions[bus]] = Integer.toString(primes.get(bus));
+        }
+
+        Generators.line(output, Integer.toString(1_000_000 + random.nextInt(1_000_000)));
+        Generators.line(output, String.join(",", schedule));
+    }
+
+    private static List<Integer> getPrimes(){
+        final List<Integer> primes = new ArrayList<>();
+        for(int candidate = 7; candidate < MAX_ID; candidate++){
+            boolean prime = true;
+            for(int divisor = 2; divisor * divisor <= candidate && prime; divisor++){
+                prime = candidate % divisor != 0;
+            }
+            if(prime){
+                primes.add(candidate);
+            }
+        }
+        return primes;
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * A docking program of {@code size} lines. A mask has at most nine floating bits, which bounds
+ * the number of addresses a single write touches in part 2.
+ */
+public final class Day14Generator implements Generator {
+
+    private static final int BITS = 36;
+    private static final int MAX_FLOATING = 9;
+
+    @Override
+    public int getDay() {
+        return 14;
+    }
+
+    @Override
+    public void generate(final long size, final Random random, final Writer output) throws IOException {
+        final char[] mask = new char[BITS];
+        for(long index = 0; index < size; index++){
+            if(index == 0 || random.nextInt(5) == 0){
+                for(int bit = 0; bit < BITS; bit++){
+                    mask[bit] = random.nextBoolean() ? '1' : '0';
+                }
+                final int floating = random.nextInt(MAX_FLOATING + 1);
+                for(int bit = 0; bit < floating; bit++){
+                    mask[random.nextInt(BITS)] = 'X';
+                }
+                Generators.line(output, "mask = " + new String(mask));
+            } else {
+                Generators.line(output, "mem[" + random.nextInt(1 << 16) + "] = " + random.nextInt(1 << 30));
+            }
+        }
+    }
+
+}
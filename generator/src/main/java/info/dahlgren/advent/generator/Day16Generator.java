@@ -0,0 +1,102 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * Ticket notes with {@code size} nearby tickets. Field {@code n} accepts the numbers from 1 to
+ * {@code (n + 1) * 10}, and every value on your ticket falls outside the ranges of the fields
+ * below the one it belongs to. That makes the field order unique and found by elimination.
+ * About one nearby ticket in five holds a value that no field accepts.
+ */
+public final class Day16Generator implements Generator {
+
+    private static final int WIDTH = 10;
+    private static final int DEPARTURES = 6;
+
+    private final int fields;
+
+    public Day16Generator() {
+        this(20);
+    }
+
+    public Day16Generator(final int fields) {
+        this.fields = fields;
+    }
+
+    @Override
+    public int getDay() {
+        return 16;
+    }
+
+    @Override
+    public void generate(final long size, final Random random, final Writer output) throws IOException {
+        final int[] ranks = new int[fields];
+        for(int column = 0; column < fields; column++){
+            ranks[column] = column;
+        }
+        Generators.shuffle(ranks, random);
+
+        for(int rank = 0; rank < fields; rank++){
+            final int high = (rank + 1) * WIDTH;
+            final int split = 1 + random.nextInt(high - 1);
+            final String name = (rank < DEPARTURES ? "departure " : "field ") + Generators.letters(rank, 'a', 26);
+            Generators.line(output, name + ": 1-" + split + " or " + (split + 1) + "-" + high);
+        }
+
+        final StringBuilder line = new StringBuilder();
+        Generators.line(output, "");
+        Generators.line(output, "your ticket:");
+        for(int column = 0; column < fields; column++){
+            if(column > 0){
+                line.append(',');
+            }
+            line.append(ranks[column] * WIDTH + 1 + random.nextInt(WIDTH));
+        }
+        Generators.line(output, line);
+
+        Generators.line(output, "");
+        Generators.line(output, "nearby tickets:");
+        for(long index = 0; index < size; index++){
+            final int invalid = random.nextInt(5) == 0 ? random.nextInt(fields) : -1;
+            line.setLength(0);
+            for(int column = 0; column < fields; column++){
+                if(column > 0){
+                    line.append(',');
+                }
+                if(column == invalid){
+                    line.append(fields * WIDTH + 1 + random.nextInt(100));
+                } else {
+                    line.append(1 + random.nextInt((ranks[column] + 1) * WIDTH));
+                }
+            }
+            Generators.line(output, line);
+        }
+    }
+
+}
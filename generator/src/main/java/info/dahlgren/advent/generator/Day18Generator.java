@@ -0,0 +1,70 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * {@code size} expressions of single digits, additions, multiplications and parentheses nested
+ * at most three levels deep, written in the same format as the puzzle input.
+ */
+public final class Day18Generator implements Generator {
+
+    private static final int MAX_DEPTH = 3;
+
+    @Override
+    public int getDay() {
+        return 18;
+    }
+
+    @Override
+    public void generate(final long size, final Random random, final Writer output) throws IOException {
+        final StringBuilder line = new StringBuilder();
+        for(long index = 0; index < size; index++){
+            line.setLength(0);
+            appendExpression(line, 0, random);
+            Generators.line(output, line);
+        }
+    }
+
+    private static void appendExpression(final StringBuilder line, final int depth, final Random random){
+        final int terms = 2 + random.nextInt(depth == 0 ? 5 : 3);
+        for(int term = 0; term < terms; term++){
+            if(term > 0){
+                line.append(random.nextInt(3) == 0 ? " * " : " + ");
+            }
+            if(depth < MAX_DEPTH && random.nextInt(5) == 0){
+                line.append('(');
+                appendExpression(line, depth + 1, random);
+                line.append(')');
+            } else {
+                line.append((char) ('1' + random.nextInt(9)));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Expense reports with exactly one pair and one triple summing to 2020. The filler values
+ * are all above 1010, so no two of them add up to the goal, and the few values that would
+ * complete another pair or triple with the planted ones are never used as filler.
+ */
+public final class Day1Generator implements Generator {
+
+    private static final int GOAL = 2020;
+
+    @Override
+    public int getDay() {
+        return 1;
+    }
+
+    @Override
+    public void generate(final long size, final Random random, final Writer output) throws IOException {
+        Generators.checkSize(size, 5, Long.MAX_VALUE, 1);
+
+        final int pair = 1 + random.nextInt(499);
+        int first;
+        int second;
+        do {
+            first = 1 + random.nextInt(504);
+            second = 1 + random.nextInt(504);
+        } while (first == second || first == pair || second == pair || pair == first + second);
+
+        final Set<Integer> excluded = Set.of(GOAL - first, GOAL - second, GOAL - pair - first, GOAL - pair - second);
+        final TreeMap<Long, Integer> planted = new TreeMap<>();
+        for(int value : new int[]{pair, GOAL - pair, first, second, GOAL - first - second}){
+            long index;
+            do {
+                index = (long) (random.nextDouble() * size);
+            } while (planted.containsKey(index));
+            planted.put(index, value);
+        }
+
+        for(long index = 0; index < size; index++){
+            Integer value = planted.get(index);
+            if(value == null){
+                do {
+                    value = GOAL / 2 + 1 + random.nextInt(GOAL / 2 - 1);
+                } while (excluded.contains(value));
+            }
+            Generators.line(output, Integer.toString(value));
+        }
+    }
+
+}
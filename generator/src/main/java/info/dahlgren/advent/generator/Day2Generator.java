@@ -0,0 +1,70 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * Password lines ({@code lo-hi c: password}) drawn from a small alphabet, so that both
+ * policies accept and reject a fair share of the lines.
+ */
+public final class Day2Generator implements Generator {
+
+    private final int maxLength;
+
+    public Day2Generator() {
+        this(20);
+    }
+
+    public Day2Generator(final int maxLength) {
+        this.maxLength = maxLength;
+    }
+
+    @Override
+    public int getDay() {
+        return 2;
+    }
+
+    @Override
+    public void generate(final long size, final Random random, final Writer output) throws IOException {
+        final StringBuilder line = new StringBuilder();
+        for(long index = 0; index < size; index++){
+            final int low = 1 + random.nextInt(maxLength);
+            final int high = low + random.nextInt(maxLength - low + 1);
+            final char letter = (char) ('a' + random.nextInt(5));
+            final int length = 1 + random.nextInt(maxLength);
+
+            line.setLength(0);
+            line.append(low).append('-').append(high).append(' ').append(letter).append(": ");
+            for(int position = 0; position < length; position++){
+                line.append((char) ('a' + random.nextInt(6)));
+            }
+            Generators.line(output, line);
+        }
+    }
+
+}
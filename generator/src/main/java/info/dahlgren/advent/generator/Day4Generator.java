@@ -0,0 +1,109 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Batches of {@code size} passports. Fields are occasionally missing or hold a value that
+ * breaks the rules of part 2, and every passport is spread over one to four lines.
+ */
+public final class Day4Generator implements Generator {
+
+    private static final String[] FIELDS = {"byr", "iyr", "eyr", "hgt", "hcl", "ecl", "pid", "cid"};
+    private static final String[] EYE_COLORS = {"amb", "blu", "brn", "gry", "grn", "hzl", "oth"};
+    private static final String HEX = "0123456789abcdef";
+
+    @Override
+    public int getDay() {
+        return 4;
+    }
+
+    @Override
+    public void generate(final long size, final Random random, final Writer output) throws IOException {
+        final List<String> fields = new ArrayList<>();
+        final StringBuilder line = new StringBuilder();
+        for(long index = 0; index < size; index++){
+            fields.clear();
+            for(String field : FIELDS){
+                if(random.nextInt(field.equals("cid") ? 2 : 12) != 0){
+                    fields.add(field + ':' + getValue(field, random.nextInt(6) != 0, random));
+                }
+            }
+            Collections.shuffle(fields, random);
+
+            if(index > 0){
+                Generators.line(output, "");
+            }
+            int position = 0;
+            while (position < fields.size()){
+                final int end = Math.min(fields.size(), position + 1 + random.nextInt(4));
+                line.setLength(0);
+                line.append(String.join(" ", fields.subList(position, end)));
+                Generators.line(output, line);
+                position = end;
+            }
+        }
+    }
+
+    private static String getValue(final String field, final boolean valid, final Random random){
+        switch (field){
+            case "byr":
+                return Integer.toString(valid ? 1920 + random.nextInt(83) : 1900 + random.nextInt(20));
+            case "iyr":
+                return Integer.toString(valid ? 2010 + random.nextInt(11) : 2021 + random.nextInt(10));
+            case "eyr":
+                return Integer.toString(valid ? 2020 + random.nextInt(11) : 2000 + random.nextInt(20));
+            case "hgt":
+                if(!valid){
+                    return random.nextBoolean() ? (194 + random.nextInt(50)) + "cm" : Integer.toString(150 + random.nextInt(44));
+                }
+                return random.nextBoolean() ? (150 + random.nextInt(44)) + "cm" : (59 + random.nextInt(18)) + "in";
+            case "hcl":
+                final StringBuilder color = new StringBuilder(valid ? "#" : "z");
+                for(int index = 0; index < 6; index++){
+                    color.append(HEX.charAt(random.nextInt(HEX.length())));
+                }
+                return color.toString();
+            case "ecl":
+                return valid ? EYE_COLORS[random.nextInt(EYE_COLORS.length)] : "xyz";
+            case "pid":
+                final StringBuilder id = new StringBuilder();
+                final int digits = valid ? 9 : (random.nextBoolean() ? 8 : 10);
+                for(int index = 0; index < digits; index++){
+                    id.append((char) ('0' + random.nextInt(10)));
+                }
+                return id.toString();
+            default:
+                return Integer.toString(100 + random.nextInt(250));
+        }
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * Boarding passes for a contiguous, shuffled run of {@code size} seat ids with a single
+ * missing seat in the middle. The plane only has 1024 seats, which caps the size.
+ */
+public final class Day5Generator implements Generator {
+
+    private static final int SEATS = 1 << 10;
+
+    @Override
+    public int getDay() {
+        return 5;
+    }
+
+    @Override
+    public void generate(final long size, final Random random, final Writer output) throws IOException {
+        Generators.checkSize(size, 2, SEATS - 3, 5);
+
+        final int count = (int) size;
+        final int lowest = 1 + random.nextInt(SEATS - 2 - count);
+        final int missing = lowest + 1 + random.nextInt(count - 1);
+        final int[] ids = new int[count];
+        for(int index = 0, id = lowest; index < count; id++){
+            if(id != missing){
+                ids[index++] = id;
+            }
+        }
+        Generators.shuffle(ids, random);
+
+        final char[] pass = new char[10];
+        for(int id : ids){
+            for(int bit = 0; bit < 10; bit++){
+                final boolean set = (id & (1 << (9 - bit))) != 0;
+                pass[bit] = bit < 7 ? (set ? 'B' : 'F') : (set ? 'R' : 'L');
+            }
+            Generators.line(output, new String(pass));
+        }
+    }
+
+}
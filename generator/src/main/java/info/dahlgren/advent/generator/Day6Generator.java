@@ -0,0 +1,64 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * {@code size} groups of one to five people, each answering yes to a random non-empty set of questions.
+ */
+public final class Day6Generator implements Generator {
+
+    @Override
+    public int getDay() {
+        return 6;
+    }
+
+    @Override
+    public void generate(final long size, final Random random, final Writer output) throws IOException {
+        final StringBuilder answers = new StringBuilder();
+        for(long index = 0; index < size; index++){
+            if(index > 0){
+                Generators.line(output, "");
+            }
+            final int people = 1 + random.nextInt(5);
+            for(int person = 0; person < people; person++){
+                answers.setLength(0);
+                for(char question = 'a'; question <= 'z'; question++){
+                    if(random.nextInt(10) < 3){
+                        answers.append(question);
+                    }
+                }
+                if(answers.length() == 0){
+                    answers.append((char) ('a' + random.nextInt(26)));
+                }
+                Generators.line(output, answers);
+            }
+        }
+    }
+
+}
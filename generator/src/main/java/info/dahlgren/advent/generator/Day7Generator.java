@@ -0,0 +1,102 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Rules for {@code size} colours. The colours are split into layers, and a bag only holds
+ * bags from the next layer, so the rules always form a DAG. Shiny gold sits in the middle
+ * layer with at least one bag inside and at least one bag around it.
+ */
+public final class Day7Generator implements Generator {
+
+    private static final int LAYERS = 6;
+    private static final String SHINY_GOLD = "shiny gold";
+    private static final String[] COLOURS = {"red", "orange", "yellow", "green", "blue", "indigo", "violet",
+            "black", "white", "gray", "teal", "olive", "maroon", "navy", "plum", "tan"};
+
+    @Override
+    public int getDay() {
+        return 7;
+    }
+
+    @Override
+    public void generate(final long size, final Random random, final Writer output) throws IOException {
+        Generators.checkSize(size, LAYERS, Integer.MAX_VALUE, 7);
+
+        final int count = (int) size;
+        final int shinyGold = getLayerStart(LAYERS / 2, count);
+        final int holder = getLayerStart(LAYERS / 2 - 1, count);
+        final Map<Integer, Integer> contains = new LinkedHashMap<>();
+        final StringBuilder line = new StringBuilder();
+        for(int colour = 0; colour < count; colour++){
+            final int layer = (int) ((long) colour * LAYERS / count);
+            contains.clear();
+            if(layer < LAYERS - 1){
+                final int start = getLayerStart(layer + 1, count);
+                final int end = getLayerStart(layer + 2, count);
+                if(colour == holder){
+                    contains.put(shinyGold, 1 + random.nextInt(5));
+                }
+                final int children = colour == shinyGold ? 1 + random.nextInt(4) : random.nextInt(5);
+                for(int child = 0; child < children; child++){
+                    contains.putIfAbsent(start + random.nextInt(end - start), 1 + random.nextInt(5));
+                }
+            }
+
+            line.setLength(0);
+            line.append(getName(colour, shinyGold)).append(" bags contain ");
+            if(contains.isEmpty()){
+                line.append("no other bags");
+            }
+            for(Map.Entry<Integer, Integer> entry : contains.entrySet()){
+                if(line.charAt(line.length() - 1) != ' '){
+                    line.append(", ");
+                }
+                line.append(entry.getValue()).append(' ').append(getName(entry.getKey(), shinyGold))
+                        .append(entry.getValue() == 1 ? " bag" : " bags");
+            }
+            line.append('.');
+            Generators.line(output, line);
+        }
+    }
+
+    private static int getLayerStart(final int layer, final int count){
+        return (int) (((long) layer * count + LAYERS - 1) / LAYERS);
+    }
+
+    private static String getName(final int colour, final int shinyGold){
+        if(colour == shinyGold){
+            return SHINY_GOLD;
+        }
+        return Generators.letters(colour, 'a', 26) + ' ' + COLOURS[colour % COLOURS.length];
+    }
+
+}
@@ -0,0 +1,69 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Random;
+
+/**
+ * A boot code of {@code size} instructions with exactly one corrupted instruction: a backward
+ * {@code jmp} that causes the infinite loop. Every other jump before it lands at or before the
+ * corrupted one, and nothing after it jumps backwards, so only that instruction can be repaired.
+ */
+public final class Day8Generator implements Generator {
+
+    @Override
+    public int getDay() {
+        return 8;
+    }
+
+    @Override
+    public void generate(final long size, final Random random, final Writer output) throws IOException {
+        Generators.checkSize(size, 3, Integer.MAX_VALUE, 8);
+
+        final int count = (int) size;
+        final int corrupted = count / 2 + random.nextInt(count - count / 2 - 1);
+        for(int index = 0; index < count; index++){
+            final int limit = index < corrupted ? corrupted : count;
+            final String instruction;
+            if(index == corrupted){
+                instruction = "jmp " + getArgument(-(1 + random.nextInt(corrupted)));
+            } else if(random.nextInt(10) < 6 || index + 1 >= limit){
+                instruction = "acc " + getArgument(random.nextInt(101) - 50);
+            } else if(random.nextBoolean()){
+                instruction = "nop " + getArgument(random.nextInt(limit - index + 1 + index) - index);
+            } else {
+                instruction = "jmp " + getArgument(1 + random.nextInt(Math.min(limit - index, 10)));
+            }
+            Generators.line(output, instruction);
+        }
+    }
+
+    private static String getArgument(final int value){
+        return value < 0 ? Integer.toString(value) : "+" + value;
+    }
+
+}
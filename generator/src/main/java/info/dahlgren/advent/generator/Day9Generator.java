@@ -0,0 +1,103 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * XMAS data of {@code size} numbers with a preamble of 25, where only the last number is not the
+ * sum of two of the 25 numbers before it. The last number is the sum of a contiguous run among
+ * the first numbers. Two zeros travel through the data, which keeps the numbers bounded: a number
+ * that would grow too large is replaced by a copy of the number leaving the window.
+ */
+public final class Day9Generator implements Generator {
+
+    private static final int PREAMBLE = 25;
+    private static final int PREFIX = 2 * PREAMBLE;
+    private static final long BOUND = 1L << 40;
+
+    @Override
+    public int getDay() {
+        return 9;
+    }
+
+    @Override
+    public void generate(final long size, final Random random, final Writer output) throws IOException {
+        Generators.checkSize(size, PREAMBLE + 1, Long.MAX_VALUE, 9);
+
+        final long[] window = new long[PREAMBLE];
+        final long[] prefix = new long[PREFIX];
+        final int first = random.nextInt(PREAMBLE);
+        final int second = (first + 1 + random.nextInt(PREAMBLE - 1)) % PREAMBLE;
+        for(long index = 0; index < size - 1; index++){
+            final int slot = (int) (index % PREAMBLE);
+            final long number;
+            if(index < PREAMBLE){
+                number = index == first || index == second ? 0 : 1 + random.nextInt(1000);
+            } else if(window[slot] == 0){
+                number = 0;
+            } else {
+                final int y = random.nextInt(PREAMBLE);
+                final int z = (y + 1 + random.nextInt(PREAMBLE - 1)) % PREAMBLE;
+                final long sum = window[y] + window[z];
+                number = sum <= BOUND ? sum : window[slot];
+            }
+
+            window[slot] = number;
+            if(index < PREFIX){
+                prefix[(int) index] = number;
+            }
+            Generators.line(output, Long.toString(number));
+        }
+
+        Generators.line(output, Long.toString(getInvalid(prefix, (int) Math.min(size - 1, PREFIX), window)));
+    }
+
+    private static long getInvalid(final long[] prefix, final int length, final long[] window){
+        final Set<Long> sums = new HashSet<>();
+        for(int y = 0; y < window.length; y++){
+            for(int z = y + 1; z < window.length; z++){
+                sums.add(window[y] + window[z]);
+            }
+        }
+
+        for(int start = 0; start < length; start++){
+            long sum = prefix[start];
+            for(int end = start + 1; end < length; end++){
+                sum += prefix[end];
+                if(!sums.contains(sum)){
+                    return sum;
+                }
+            }
+        }
+
+        throw new IllegalStateException("Unable to find an invalid number");
+    }
+
+}
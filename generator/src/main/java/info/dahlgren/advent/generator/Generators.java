@@ -0,0 +1,118 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2020-, Karl A. Dahlgren
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package info.dahlgren.advent.generator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+public final class Generators {
+
+    private static final List<Generator> GENERATORS = List.of(
+            new Day1Generator(), new Day2Generator(), new Day3Generator(),
+            new Day4Generator(), new Day5Generator(), new Day6Generator(),
+            new Day7Generator(), new Day8Generator(), new Day9Generator(),
+            new Day10Generator(), new Day11Generator(), new Day12Generator(),
+            new Day13Generator(), new Day14Generator(), new Day15Generator(),
+            new Day16Generator(), new Day17Generator(), new Day18Generator());
+
+    private Generators() {
+
+    }
+
+    public static Generator get(final int day){
+        return GENERATORS.stream()
+                .filter(generator -> generator.getDay() == day)
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No generator for day " + day));
+    }
+
+    public static String generate(final Generator generator, final long size, final long seed){
+        final StringWriter output = new StringWriter();
+        try {
+            generator.generate(size, new Random(seed), output);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return output.toString();
+    }
+
+    public static void write(final Generator generator, final long size, final long seed, final Path file){
+        try(Writer output = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), 1 << 16)) {
+            generator.generate(size, new Random(seed), output);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write input: " + file, e);
+        }
+    }
+
+    /**
+     * Usage: {@code <day> <size> <seed> <output file>}
+     */
+    public static void main(final String[] args){
+        if(args.length != 4){
+            System.err.println("Usage: <day> <size> <seed> <output file>");
+            System.exit(1);
+        }
+
+        write(get(Integer.parseInt(args[0])), Long.parseLong(args[1]), Long.parseLong(args[2]), Path.of(args[3]));
+    }
+
+    static void line(final Writer output, final CharSequence line) throws IOException {
+        output.append(line).append('\n');
+    }
+
+    static void checkSize(final long size, final long min, final long max, final int day){
+        if(size < min || size > max){
+            throw new IllegalArgumentException("Size for day " + day + " must be between " + min + " and " + max + ": " + size);
+        }
+    }
+
+    static void shuffle(final int[] values, final Random random){
+        for(int index = values.length - 1; index > 0; index--){
+            final int other = random.nextInt(index + 1);
+            final int value = values[index];
+            values[index] = values[other];
+            values[other] = value;
+        }
+    }
+
+    static String letters(final long index, final char from, final int count){
+        final StringBuilder builder = new StringBuilder();
+        long value = index;
+        do {
+            builder.append((char) (from + value % count));
+            value = value / count - 1;
+        } while (value >= 0);
+        return builder.reverse().toString();
+    }
+
+}